@@ -0,0 +1,14 @@
+/**
+ * Interface representing one page of a keyset-paginated listing.
+ */
+export interface CursorPage<T> {
+    /**
+     * The items of this page.
+     */
+    items: T[];
+
+    /**
+     * Cursor of the following page, null on the last page.
+     */
+    nextCursor: string | null;
+}
@@ -1,8 +1,10 @@
 
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Injectable } from '@angular/core';
-import { Observable } from 'rxjs';
+import { EMPTY, Observable } from 'rxjs';
+import { expand, reduce } from 'rxjs/operators';
 import { Appointment } from '../models/appointment.model';
+import { CursorPage } from '../models/cursor-page.model';
 import { Pet } from '../models/pet.model';
 
 @Injectable({
@@ -15,10 +17,10 @@ export class AppointmentService {
   constructor(private http: HttpClient) { }
 
   /**
-   * Fetch all appointments from the server.
+   * Fetch all appointments from the server, page by page.
    */
   getAllAppointments(): Observable<Appointment[]> {
-    return this.http.get<Appointment[]>(this.apiUrl);
+    return this.getAllPages(this.apiUrl);
   }
 
   /**
@@ -34,7 +36,20 @@ export class AppointmentService {
    * @param userId - The ID of the user whose appointments are to be fetched.
    */
   getAppointmentsByUserId(userId: number): Observable<Appointment[]> {
-    return this.http.get<Appointment[]>(`${this.apiUrl}/user/${userId}`);
+    return this.getAllPages(`${this.apiUrl}/user/${userId}`);
+  }
+
+  /**
+   * Follow the cursors of a paginated listing and collect every item.
+   * @param url - The listing endpoint.
+   */
+  private getAllPages(url: string): Observable<Appointment[]> {
+    const page = (cursor: string | null) => this.http.get<CursorPage<Appointment>>(url,
+      { params: cursor ? new HttpParams().set('cursor', cursor) : new HttpParams() });
+    return page(null).pipe(
+      expand(current => current.nextCursor ? page(current.nextCursor) : EMPTY),
+      reduce((all, current) => all.concat(current.items), [] as Appointment[])
+    );
   }
 
   /**
@@ -1,5 +1,6 @@
 package com.examly.springapp.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -7,14 +8,16 @@ import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.examly.springapp.model.User;
 import com.examly.springapp.repository.UserRepo;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 public class ApplicationConfig {
 
@@ -47,29 +50,61 @@ public class ApplicationConfig {
 
     /**
      * Bean definition for PasswordEncoder.
-     * This method returns a BCryptPasswordEncoder, which is used to encode
-     * passwords.
+     * This method returns a BCrypt encoder that hashes on a dedicated, bounded
+     * executor so that password hashing cannot occupy every request thread.
      * 
+     * @param strength      the BCrypt cost factor
+     * @param threads       the number of hashing threads
+     * @param queueCapacity the number of hashes allowed to wait
+     * @param registry      the registry for the hashing metrics
      * @return a PasswordEncoder
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${spring.security.password.bcrypt-strength:10}") int strength,
+            @Value("${spring.security.password.hashing-threads:4}") int threads,
+            @Value("${spring.security.password.hashing-queue-capacity:100}") int queueCapacity,
+            MeterRegistry registry) {
+        return new BoundedPasswordEncoder(strength, threads, queueCapacity, registry);
+    }
+
+    /**
+     * Bean definition for UserDetailsPasswordService.
+     * This method returns an implementation that stores a re-hashed password
+     * after a successful login with a hash made at an older cost factor.
+     * 
+     * @param principalResolver resolver whose cached principal is evicted
+     * @return an implementation of UserDetailsPasswordService
+     */
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService(PrincipalResolver principalResolver) {
+        return (userDetails, newPassword) -> {
+            User user = userRepo.findByEmail(userDetails.getUsername())
+                    .orElseThrow(() -> new UsernameNotFoundException("Username not found"));
+            user.setPassword(newPassword);
+            userRepo.save(user);
+            principalResolver.evict(user.getEmail());
+            return new UserPrinciple(user);
+        };
     }
 
     /**
      * Bean definition for AuthenticationProvider.
      * This method returns a DaoAuthenticationProvider, which uses the
      * UserDetailsService and PasswordEncoder
-     * to authenticate users.
+     * to authenticate users, and upgrades outdated password hashes.
      * 
+     * @param passwordEncoder            the PasswordEncoder
+     * @param userDetailsPasswordService the service storing upgraded hashes
      * @return an AuthenticationProvider
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder,
+            UserDetailsPasswordService userDetailsPasswordService) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
@@ -30,6 +30,8 @@ public class CorsConfig implements WebMvcConfigurer {
      *                 - Specifies allowed HTTP methods: GET, POST, PUT, OPTIONS,
      *                 DELETE.
      *                 - Permits all headers in the request.
+     *                 - Exposes the ETag header for conditional updates and
+     *                 the range headers of attachment downloads.
      */
     @Override
     public void addCorsMappings(@NonNull CorsRegistry registry) {
@@ -37,7 +39,9 @@ public class CorsConfig implements WebMvcConfigurer {
                 // .allowedOrigins("https://8081-bdaddddefbdbdfbdfacfcddfbedbebb.premiumproject.examly.io/")
                 .allowedOriginPatterns("https://*")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH")
-                .allowedHeaders("Authorization", "Content-Type", "Access-Control-Allow-Origin")
+                .allowedHeaders("Authorization", "Content-Type", "Access-Control-Allow-Origin", "If-Match",
+                        "If-None-Match", "Range", "If-Range")
+                .exposedHeaders("ETag", "Accept-Ranges", "Content-Range", "Content-Disposition")
                 .allowCredentials(true);
     }
 }
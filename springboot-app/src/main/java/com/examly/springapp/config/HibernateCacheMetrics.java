@@ -0,0 +1,57 @@
+package com.examly.springapp.config;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Publishes the Hibernate second-level and query cache statistics as metrics,
+ * e.g. /actuator/metrics/hibernate.cache.hits?tag=region:user.
+ *
+ * Counts are read from the session factory statistics on each scrape, so
+ * nothing is recorded on the query path.
+ */
+@Component
+public class HibernateCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    /**
+     * @param entityManagerFactory the factory whose statistics are published
+     */
+    public HibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            FunctionCounter.builder("hibernate.cache.hits", regionStatistics, CacheRegionStatistics::getHitCount)
+                    .tag("region", region).register(registry);
+            FunctionCounter.builder("hibernate.cache.misses", regionStatistics, CacheRegionStatistics::getMissCount)
+                    .tag("region", region).register(registry);
+            FunctionCounter.builder("hibernate.cache.puts", regionStatistics, CacheRegionStatistics::getPutCount)
+                    .tag("region", region).register(registry);
+            Gauge.builder("hibernate.cache.entries", regionStatistics,
+                    CacheRegionStatistics::getElementCountInMemory).tag("region", region).register(registry);
+        }
+        FunctionCounter.builder("hibernate.query.cache.hits", statistics, Statistics::getQueryCacheHitCount)
+                .register(registry);
+        FunctionCounter.builder("hibernate.query.cache.misses", statistics, Statistics::getQueryCacheMissCount)
+                .register(registry);
+        FunctionCounter.builder("hibernate.query.cache.puts", statistics, Statistics::getQueryCachePutCount)
+                .register(registry);
+    }
+}
@@ -0,0 +1,184 @@
+package com.examly.springapp.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel holding timers with a fixed tick resolution.
+ *
+ * Level 0 has one bucket per tick; each higher level has buckets spanning a
+ * whole rotation of the level below. A timer is placed on the lowest level
+ * whose span covers its delay and cascades down as time reaches its bucket,
+ * so scheduling and cancelling are O(1) and advancing costs O(1) per tick
+ * plus the timers that move or expire. Timers beyond the top level's span are
+ * refused.
+ *
+ * Not thread safe: callers synchronize access.
+ *
+ * @param <T> the payload type
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+    private final Bucket<T>[][] buckets;
+    // Next tick to process, in ticks since the epoch
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tickMillis the duration of a tick
+     * @param bits       log2 of the number of buckets per level
+     * @param levels     the number of levels
+     * @param nowMillis  the current time
+     */
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int bits, int levels, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.bits = bits;
+        this.mask = (1 << bits) - 1;
+        this.levels = levels;
+        this.buckets = new Bucket[levels][1 << bits];
+        for (Bucket<T>[] level : buckets) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Bucket<>();
+            }
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Schedules a payload.
+     *
+     * @param dueAtMillis the time the payload is due; past times are due on the
+     *                    next advance
+     * @param payload     the payload
+     * @return the timer, for cancelling, or null if the time is beyond the
+     *         wheel's span
+     */
+    public Timer<T> schedule(long dueAtMillis, T payload) {
+        long dueTick = Math.max(dueAtMillis / tickMillis, currentTick);
+        if (dueTick - currentTick >= 1L << (bits * levels)) {
+            return null;
+        }
+        Timer<T> timer = new Timer<>(dueTick, payload);
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Cancels a timer.
+     *
+     * @param timer the timer
+     * @return true if the timer was pending, false if it had already expired or
+     *         been cancelled
+     */
+    public boolean cancel(Timer<T> timer) {
+        if (timer.bucket == null) {
+            return false;
+        }
+        timer.unlink();
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the given time.
+     *
+     * @param nowMillis the current time
+     * @return the payloads that became due, in due order
+     */
+    public List<T> advanceTo(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick <= targetTick) {
+            // At the start of a rotation, bring the next span of each higher
+            // level down
+            for (int level = 1; level < levels; level++) {
+                if ((currentTick & ((1L << (bits * level)) - 1)) != 0) {
+                    break;
+                }
+                cascade(buckets[level][(int) ((currentTick >> (bits * level)) & mask)]);
+            }
+            Bucket<T> due = buckets[0][(int) (currentTick & mask)];
+            for (Timer<T> timer = due.head.next; timer != due.head; timer = due.head.next) {
+                timer.unlink();
+                size--;
+                expired.add(timer.payload);
+            }
+            currentTick++;
+        }
+        return expired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void cascade(Bucket<T> bucket) {
+        for (Timer<T> timer = bucket.head.next; timer != bucket.head; timer = bucket.head.next) {
+            timer.unlink();
+            place(timer);
+        }
+    }
+
+    private void place(Timer<T> timer) {
+        long delta = timer.dueTick - currentTick;
+        int level = 0;
+        while (level < levels - 1 && delta >= 1L << (bits * (level + 1))) {
+            level++;
+        }
+        buckets[level][(int) ((timer.dueTick >> (bits * level)) & mask)].add(timer);
+    }
+
+    /**
+     * A scheduled payload, linked into the bucket it waits in.
+     *
+     * @param <T> the payload type
+     */
+    public static final class Timer<T> {
+        private final long dueTick;
+        private final T payload;
+        private Bucket<T> bucket;
+        private Timer<T> prev;
+        private Timer<T> next;
+
+        private Timer(long dueTick, T payload) {
+            this.dueTick = dueTick;
+            this.payload = payload;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+            bucket = null;
+        }
+    }
+
+    // Circular doubly linked list with a sentinel head
+    private static final class Bucket<T> {
+        private final Timer<T> head = new Timer<>(0, null);
+
+        private Bucket() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        private void add(Timer<T> timer) {
+            timer.bucket = this;
+            timer.prev = head.prev;
+            timer.next = head;
+            head.prev.next = timer;
+            head.prev = timer;
+        }
+    }
+}
@@ -7,7 +7,6 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -21,17 +20,21 @@ import jakarta.servlet.http.HttpServletResponse;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalResolver principalResolver;
+    private final RouteAuthorizationPolicy routeAuthorizationPolicy;
 
     /**
-     * Constructor to inject JwtUtils and UserDetailsService.
+     * Constructor to inject JwtUtils, PrincipalResolver and the route policy.
      *
-     * @param jwtUtils           Utility class for JWT operations.
-     * @param userDetailsService Service to load user details.
+     * @param jwtUtils                 Utility class for JWT operations.
+     * @param principalResolver        Resolves the user details from the token.
+     * @param routeAuthorizationPolicy Compiled role to path-prefix policy.
      */
-    public JwtAuthenticationFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtils jwtUtils, PrincipalResolver principalResolver,
+            RouteAuthorizationPolicy routeAuthorizationPolicy) {
         this.jwtUtils = jwtUtils;
-        this.userDetailsService = userDetailsService;
+        this.principalResolver = principalResolver;
+        this.routeAuthorizationPolicy = routeAuthorizationPolicy;
     }
 
     /**
@@ -66,11 +69,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // If the username is not null and there is no authentication information in the
         // SecurityContextHolder
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // Load the user details using the username
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            // Resolve the user details from the token claims or the user store
+            UserDetails userDetails = principalResolver.resolve(token, username);
 
-            // Validate the token
-            if (jwtUtils.isValidateToken(token, userDetails)) {
+            // Validate the token; a deleted user stays unauthenticated
+            if (userDetails != null && jwtUtils.isValidateToken(token, userDetails)) {
                 // Create an authentication token using the user details and set it in the
                 // SecurityContextHolder
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
@@ -78,15 +81,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
 
-                // Extract role from token and check access permissions
-                String role = jwtUtils.extractUserRole(token);
-                if (role.equals("ROLE_ADMIN") && !request.getRequestURI().startsWith("/api/appointments")
-                        && !request.getRequestURI().startsWith("/api/feedback")) {
-                    response.sendError(HttpServletResponse.SC_FORBIDDEN, "Access Denied");
-                    return;
-                } else if (role.equals("ROLE_PETOWNER") && !request.getRequestURI().startsWith("/api/pet")
-                        && !request.getRequestURI().startsWith("/api/appointments")
-                        && !request.getRequestURI().startsWith("/api/feedback")) {
+                // Check the user's roles against the compiled route policy
+                if (!routeAuthorizationPolicy.isAllowed(userDetails.getAuthorities(), request.getRequestURI())) {
                     response.sendError(HttpServletResponse.SC_FORBIDDEN, "Access Denied");
                     return;
                 }
@@ -1,6 +1,10 @@
 package com.examly.springapp.config;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -10,11 +14,15 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.examly.springapp.model.User;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class JwtUtils {
@@ -22,6 +30,32 @@ public class JwtUtils {
     @Value("${spring.security.jwt.secret-key}")
     private String secretKey;
 
+    // Maximum number of verified tokens whose claims are kept in memory
+    @Value("${spring.security.jwt.claims-cache.max-size:10000}")
+    private int claimsCacheMaxSize;
+
+    // Signing key and parser are built once, both are immutable and thread-safe
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    // Verified claims keyed by the SHA-256 hash of the token, so raw tokens are
+    // never retained
+    private ExpiringCache<String, Claims> claimsCache;
+
+    /**
+     * Decodes the secret key and builds the parser once at startup instead of
+     * on every parse.
+     */
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.claimsCache = new ExpiringCache<>(claimsCacheMaxSize, 0);
+    }
+
     // Extract username from the token
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -33,19 +67,39 @@ public class JwtUtils {
         return claimsResolver.apply(claims);
     }
 
-    // Extract all claims from the token
+    /**
+     * Extracts all claims from the token. The signature is verified only the
+     * first time a token is seen; later calls are served from the claims cache
+     * until the token expires.
+     *
+     * @param token the JWT token
+     * @return the verified claims of the token
+     */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        final String cacheKey = hashToken(token);
+        Claims cached = claimsCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Throws ExpiredJwtException / SignatureException exactly as before
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() != null) {
+            claimsCache.put(cacheKey, claims, claims.getExpiration().getTime());
+        }
+        return claims;
     }
 
-    // Retrieve the signing key from the secret key
-    private Key getKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Hash the token so the cache key is fixed-size and does not hold the
+    // credential itself
+    private String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -61,7 +115,7 @@ public class JwtUtils {
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) // 10 hours expiration
-                .signWith(SignatureAlgorithm.HS256, getKey())
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -93,4 +147,22 @@ public class JwtUtils {
     public String extractUserName(String token) {
         return extractClaim(token, claims -> claims.get("name", String.class));
     }
-}
\ No newline at end of file
+
+    /**
+     * Rebuilds the authenticated principal from the signed claims written by
+     * {@link #generateToken(UserDetails)}, without touching the database.
+     *
+     * @param token the JWT token
+     * @return a principal carrying the user ID, email, name and role
+     */
+    public UserPrinciple extractPrincipal(String token) {
+        final Claims claims = extractAllClaims(token);
+        User user = new User();
+        user.setUserId(claims.get("userId", Integer.class));
+        user.setEmail(claims.get("email", String.class));
+        user.setUsername(claims.get("name", String.class));
+        user.setUserRole(claims.get("role", String.class));
+        user.setPassword(null);
+        return new UserPrinciple(user);
+    }
+}
@@ -0,0 +1,78 @@
+package com.examly.springapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the authenticated principal for a request from its JWT token.
+ *
+ * In `database` mode, the default, the user is loaded through the
+ * UserDetailsService behind a bounded cache that is evicted whenever the user
+ * record changes, so a deleted user or a changed role takes effect on the next
+ * request (on other nodes once the cache TTL has passed). In `token` mode the
+ * principal is rebuilt from the signed claims, so no database lookup happens
+ * per request, but the claims stay in force until the token expires.
+ */
+@Component
+public class PrincipalResolver {
+
+    private final JwtUtils jwtUtils;
+    private final UserDetailsService userDetailsService;
+    private final boolean fromToken;
+    private final ExpiringCache<String, UserDetails> principalCache;
+
+    /**
+     * Constructor to inject the JWT utilities, the user lookup and the
+     * resolution settings.
+     *
+     * @param jwtUtils           Utility class for JWT operations.
+     * @param userDetailsService Service to load user details.
+     * @param source             `token` or `database`.
+     * @param cacheMaxSize       Maximum cached principals in database mode, 0
+     *                           disables the cache.
+     * @param cacheTtlSeconds    Time a cached principal stays valid.
+     */
+    public PrincipalResolver(JwtUtils jwtUtils, UserDetailsService userDetailsService,
+            @Value("${spring.security.jwt.principal-source:database}") String source,
+            @Value("${spring.security.jwt.principal-cache.max-size:1000}") int cacheMaxSize,
+            @Value("${spring.security.jwt.principal-cache.ttl-seconds:300}") long cacheTtlSeconds) {
+        this.jwtUtils = jwtUtils;
+        this.userDetailsService = userDetailsService;
+        this.fromToken = "token".equalsIgnoreCase(source);
+        this.principalCache = new ExpiringCache<>(cacheMaxSize, cacheTtlSeconds * 1000);
+    }
+
+    /**
+     * Returns the principal for the given token and username.
+     *
+     * @param token    the already verified JWT token
+     * @param username the subject of the token
+     * @return the user details for the request, or null if the user no longer
+     *         exists
+     */
+    public UserDetails resolve(String token, String username) {
+        if (fromToken) {
+            return jwtUtils.extractPrincipal(token);
+        }
+        UserDetails cached = principalCache.get(username);
+        if (cached != null) {
+            return cached;
+        }
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+        principalCache.put(username, userDetails);
+        return userDetails;
+    }
+
+    // Drop the cached principal after the user record was changed or deleted
+    public void evict(String email) {
+        principalCache.invalidate(email);
+    }
+}
@@ -0,0 +1,123 @@
+package com.examly.springapp.config;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Role to path-prefix access policy used by the JWT filter.
+ *
+ * The allowed prefixes of each role are compiled once at startup into a
+ * character trie, so a request URI is checked in a single pass over its
+ * characters regardless of how many prefixes are configured. A prefix only
+ * matches whole path segments, so /api/pet covers /api/pet/7 but not
+ * /api/petx. Roles without a rule are not restricted by this policy.
+ *
+ * Matches are counted per rule as security.route.hits and refusals per role as
+ * security.route.denied.
+ */
+@Component
+public class RouteAuthorizationPolicy {
+
+    private final Map<String, Node> rolePolicies = new HashMap<>();
+    private final Map<String, Counter> denials = new HashMap<>();
+    private final MeterRegistry registry;
+
+    /**
+     * Compiles the configured prefixes of every role.
+     *
+     * @param adminPrefixes    Path prefixes ROLE_ADMIN may access.
+     * @param petOwnerPrefixes Path prefixes ROLE_PETOWNER may access.
+     * @param registry         The registry the hit counters are published to.
+     */
+    public RouteAuthorizationPolicy(
+            @Value("${spring.security.route-policy.admin}") List<String> adminPrefixes,
+            @Value("${spring.security.route-policy.petowner}") List<String> petOwnerPrefixes,
+            MeterRegistry registry) {
+        this.registry = registry;
+        compile("ROLE_ADMIN", adminPrefixes);
+        compile("ROLE_PETOWNER", petOwnerPrefixes);
+    }
+
+    private void compile(String authority, List<String> prefixes) {
+        Node root = new Node();
+        for (String prefix : prefixes) {
+            String path = prefix.trim();
+            while (path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+            if (path.isEmpty()) {
+                continue;
+            }
+            Node node = root;
+            for (int i = 0; i < path.length(); i++) {
+                node = node.children.computeIfAbsent(path.charAt(i), c -> new Node());
+            }
+            node.hits = Counter.builder("security.route.hits").tag("authority", authority).tag("prefix", path)
+                    .register(registry);
+        }
+        rolePolicies.put(authority, root);
+        denials.put(authority, Counter.builder("security.route.denied").tag("authority", authority)
+                .register(registry));
+    }
+
+    /**
+     * Checks whether a user with the given authorities may access the URI.
+     *
+     * @param authorities the authorities of the authenticated user
+     * @param requestUri  the request URI
+     * @return false if a restricted role has no rule matching the URI
+     */
+    public boolean isAllowed(Collection<? extends GrantedAuthority> authorities, String requestUri) {
+        for (GrantedAuthority authority : authorities) {
+            Node root = rolePolicies.get(authority.getAuthority());
+            if (root == null) {
+                continue;
+            }
+            Counter hits = match(root, requestUri);
+            if (hits == null) {
+                denials.get(authority.getAuthority()).increment();
+                return false;
+            }
+            hits.increment();
+        }
+        return true;
+    }
+
+    // Walks the trie along the URI and returns the counter of the first rule
+    // whose prefix ends at a segment boundary
+    private Counter match(Node root, String requestUri) {
+        Node node = root;
+        for (int i = 0; i < requestUri.length(); i++) {
+            node = node.children.get(requestUri.charAt(i));
+            if (node == null) {
+                return null;
+            }
+            if (node.hits != null && isBoundary(requestUri, i + 1)) {
+                return node.hits;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBoundary(String requestUri, int index) {
+        if (index == requestUri.length()) {
+            return true;
+        }
+        char next = requestUri.charAt(index);
+        return next == '/' || next == '?';
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private Counter hits;
+    }
+}
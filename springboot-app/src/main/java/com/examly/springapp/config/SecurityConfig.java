@@ -60,12 +60,26 @@ public class SecurityConfig {
                                 "/swagger-resources/**", // Permit access to Swagger resources
                                 "/webjars/**")
                         .permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/pet/search").hasRole("ADMIN") // Pet search
+                        .requestMatchers("/api/pet/import", "/api/pet/import/**").hasRole("ADMIN") // Pet bulk import
                         .requestMatchers("/api/pet/**").hasRole("PETOWNER") // Pet POST operation
+                        .requestMatchers(HttpMethod.GET, "/api/appointments/export").hasRole("ADMIN") // Appointment
+                                                                                                     // export
+                        .requestMatchers(HttpMethod.GET, "/api/appointments/search").hasRole("ADMIN") // Appointment
+                                                                                                     // search
+                        .requestMatchers(HttpMethod.GET, "/api/appointments/calendar")
+                        .hasAnyRole("PETOWNER", "ADMIN") // Appointment calendar GET operation
+                        .requestMatchers(HttpMethod.GET, "/api/appointments/availability/**")
+                        .hasAnyRole("PETOWNER", "ADMIN") // Appointment availability GET operation
+                        .requestMatchers(HttpMethod.POST, "/api/appointments/bulk").hasRole("ADMIN") // Appointment
+                                                                                                  // bulk import
                         .requestMatchers(HttpMethod.POST, "/api/appointments").hasRole("PETOWNER") // Appointment POST
                                                                                                    // operation
                         .requestMatchers(HttpMethod.GET, "/api/appointments/user/{userId}").hasRole("PETOWNER") // Appointment
                                                                                                                 // GET
                                                                                                                 // operation
+                        .requestMatchers(HttpMethod.PUT, "/api/appointments/status").hasRole("ADMIN") // Appointment
+                                                                                                   // bulk status
                         .requestMatchers(HttpMethod.PUT, "/api/appointments/{appointmentId}")
                         .hasAnyRole("PETOWNER", "ADMIN") // Appointment PUT operation
                         .requestMatchers(HttpMethod.GET, "/api/appointments/{appointmentId}").hasRole("PETOWNER") // Appointment
@@ -85,9 +99,15 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.DELETE, "/api/feedback/{feedbackId}").hasRole("PETOWNER") // Feedback
                                                                                                               // DELETE
                                                                                                               // operation
-                        .requestMatchers(HttpMethod.POST, "/api/appointments/{appointmentId}/status").hasRole("ADMIN") // Feedback
-                                                                                                                       // DELETE
-                                                                                                                       // operation
+                        .requestMatchers(HttpMethod.PUT, "/api/appointments/{appointmentId}/status").hasRole("ADMIN") // Appointment
+                                                                                                                      // status
+                                                                                                                      // operation
+                        .requestMatchers(HttpMethod.POST, "/api/pets/by-ids").hasAnyRole("PETOWNER", "ADMIN") // Pet
+                                                                                                          // batch lookup
+                        .requestMatchers(HttpMethod.DELETE, "/api/users/{userId}").hasRole("ADMIN") // User DELETE
+                                                                                                    // operation
+                        .requestMatchers(HttpMethod.GET, "/api/stats").hasRole("ADMIN") // Dashboard statistics
+                        .requestMatchers("/actuator/**").hasRole("ADMIN") // Metrics for administrators
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
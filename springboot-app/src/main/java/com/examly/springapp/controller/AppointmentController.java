@@ -1,7 +1,18 @@
 package com.examly.springapp.controller;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -10,12 +21,30 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.examly.springapp.exception.AppointmentExceedException;
 import com.examly.springapp.exception.AppointmentNotFoundException;
+import com.examly.springapp.exception.InvalidCursorException;
+import com.examly.springapp.exception.InvalidStatusTransitionException;
+import com.examly.springapp.exception.VersionConflictException;
 import com.examly.springapp.model.Appointment;
+import com.examly.springapp.model.AppointmentSearchCriteria;
+import com.examly.springapp.model.AppointmentStatus;
+import com.examly.springapp.model.AppointmentView;
+import com.examly.springapp.model.BulkAppointmentResult;
+import com.examly.springapp.model.BulkStatusRequest;
+import com.examly.springapp.model.BulkStatusResult;
+import com.examly.springapp.model.CalendarMonth;
+import com.examly.springapp.model.CursorPageDTO;
+import com.examly.springapp.service.AppointmentAvailabilityService;
+import com.examly.springapp.service.AppointmentBulkService;
+import com.examly.springapp.service.AppointmentCalendarService;
+import com.examly.springapp.service.AppointmentExportService;
 import com.examly.springapp.service.AppointmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -33,10 +62,27 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 public class AppointmentController {
 
     private final AppointmentService appointmentService;
+    private final AppointmentAvailabilityService appointmentAvailabilityService;
+    private final AppointmentExportService appointmentExportService;
+    private final AppointmentBulkService appointmentBulkService;
+    private final AppointmentCalendarService appointmentCalendarService;
+
+    // Upper bound on the slots returned by one next-free query
+    private static final int MAX_SLOTS_PER_QUERY = 100;
+
+    @Value("${appointments.bulk.max-items:5000}")
+    private int maxBulkItems;
 
     // Constructor injection
-    public AppointmentController(AppointmentService appointmentService) {
+    public AppointmentController(AppointmentService appointmentService,
+            AppointmentAvailabilityService appointmentAvailabilityService,
+            AppointmentExportService appointmentExportService, AppointmentBulkService appointmentBulkService,
+            AppointmentCalendarService appointmentCalendarService) {
         this.appointmentService = appointmentService;
+        this.appointmentAvailabilityService = appointmentAvailabilityService;
+        this.appointmentExportService = appointmentExportService;
+        this.appointmentBulkService = appointmentBulkService;
+        this.appointmentCalendarService = appointmentCalendarService;
     }
 
     /**
@@ -61,32 +107,153 @@ public class AppointmentController {
         return appointmentService.addAppointment(appointment);
     }
 
-    @Operation(summary = "Get appointments by user ID", description = "Retrieve a list of appointments for a specific user")
+    /**
+     * HTTP POST endpoint to add many appointments at once. Each item is
+     * validated and booked on its own; the response tells which were created.
+     *
+     * @param appointments The appointments to be added.
+     * @return One result per item, in request order, or 400 if the request
+     *         holds too many items.
+     */
+    @Operation(summary = "Add appointments in bulk", description = "Save a list of appointments with per-item results")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Items processed"),
+            @ApiResponse(responseCode = "400", description = "Too many items")
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkAppointmentResult>> addAppointments(@RequestBody List<Appointment> appointments) {
+        if (appointments.size() > maxBulkItems) {
+            return ResponseEntity.status(400).build();
+        }
+        return ResponseEntity.ok(appointmentBulkService.addAppointments(appointments));
+    }
+
+    /**
+     * HTTP GET endpoint to retrieve a user's appointments one page at a time;
+     * pass the returned `nextCursor` as `cursor` to fetch the following page.
+     *
+     * @param userId The ID of the user whose appointments are to be retrieved.
+     * @param cursor The cursor returned with the previous page.
+     * @param size   The page size, appointments.page.default-size when absent
+     *               and at most appointments.page.max-size.
+     * @return The page and the cursor of the next page.
+     * @throws InvalidCursorException If the cursor cannot be decoded.
+     */
+    @Operation(summary = "Get appointments by user ID", description = "Retrieve a user's appointments with keyset pagination")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Appointments successfully retrieved"),
-            @ApiResponse(responseCode = "404", description = "User not found")
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
     })
     // @PreAuthorize("hasRole('PETOWNER')")
     // @PostAuthorize("returnObject.stream().allMatch(appointment ->
     // appointment.getUser().getEmail() == authentication.name) or
     // hasRole('ADMIN')")
-
     @GetMapping("/user/{userId}")
-    public List<Appointment> getAppointmentsByUserId(@PathVariable int userId) {
-        return appointmentService.getAppointmentsByUserId(userId);
+    public CursorPageDTO<AppointmentView> getAppointmentsByUserId(@PathVariable int userId,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size)
+            throws InvalidCursorException {
+        return appointmentService.getAppointmentsPageByUserId(userId, cursor, size);
     }
 
-    @Operation(summary = "Get all appointments", description = "Retrieve a list of all appointments")
+    /**
+     * HTTP GET endpoint to retrieve all of a user's appointments in one
+     * response. Only selected with an explicit `all=true`.
+     *
+     * @param userId The ID of the user whose appointments are to be retrieved.
+     * @return Every appointment of the user.
+     */
+    @Operation(summary = "Get every appointment of a user", description = "Retrieve all of a user's appointments unpaged, with all=true")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Appointments successfully retrieved")
     })
+    @GetMapping(value = "/user/{userId}", params = "all=true")
+    public List<AppointmentView> getAllAppointmentsByUserId(@PathVariable int userId) {
+        return appointmentService.getAppointmentsByUserId(userId);
+    }
+
+    /**
+     * HTTP GET endpoint to retrieve all appointments one page at a time; pass
+     * the returned `nextCursor` as `cursor` to fetch the following page.
+     *
+     * @param cursor The cursor returned with the previous page.
+     * @param size   The page size, appointments.page.default-size when absent
+     *               and at most appointments.page.max-size.
+     * @return The page and the cursor of the next page.
+     * @throws InvalidCursorException If the cursor cannot be decoded.
+     */
+    @Operation(summary = "Get all appointments", description = "Retrieve appointments with keyset pagination")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Appointments successfully retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
     // @PreAuthorize("hasRole('ROLE_ADMIN')")
     // @PostAuthorize("returnObject.user.email == authentication.name")
     @GetMapping
-    public List<Appointment> getAllAppointments() {
+    public CursorPageDTO<AppointmentView> getAllAppointments(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) throws InvalidCursorException {
+        return appointmentService.getAppointmentsPage(cursor, size);
+    }
+
+    /**
+     * HTTP GET endpoint to retrieve every appointment in one response. Only
+     * selected with an explicit `all=true`; prefer the paged listing or the
+     * streamed export.
+     *
+     * @return Every appointment.
+     */
+    @Operation(summary = "Get every appointment", description = "Retrieve all appointments unpaged, with all=true")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Appointments successfully retrieved")
+    })
+    @GetMapping(params = "all=true")
+    public List<AppointmentView> getEveryAppointment() {
         return appointmentService.getAllAppointments();
     }
 
+    /**
+     * HTTP GET endpoint to search appointments, one page at a time. All filters
+     * are optional; pass the returned `nextCursor` as `cursor` to fetch the
+     * following page.
+     *
+     * @param status  The status of the appointments.
+     * @param from    The first day, inclusive.
+     * @param to      The last day, inclusive.
+     * @param userId  The ID of the user who booked the appointments.
+     * @param species The species of the pets.
+     * @param q       Text the reason must contain.
+     * @param cursor  The cursor returned with the previous page.
+     * @param size    The page size.
+     * @return The page and the cursor of the next page, or 400 for an unknown
+     *         status.
+     * @throws InvalidCursorException If the cursor cannot be decoded.
+     */
+    @Operation(summary = "Search appointments", description = "Filter appointments by status, date range, user, pet species and reason")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Appointments successfully retrieved"),
+            @ApiResponse(responseCode = "400", description = "Unknown status or invalid cursor")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDTO<AppointmentView>> searchAppointments(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer userId,
+            @RequestParam(required = false) String species,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) throws InvalidCursorException {
+        AppointmentStatus statusFilter = AppointmentStatus.parse(status);
+        if (status != null && statusFilter == null) {
+            return ResponseEntity.status(400).build();
+        }
+        AppointmentSearchCriteria criteria = new AppointmentSearchCriteria(
+                statusFilter == null ? null : statusFilter.name(),
+                from == null ? null : from.atStartOfDay(),
+                to == null ? null : to.plusDays(1).atStartOfDay(),
+                userId, species, q);
+        return ResponseEntity.ok(appointmentService.searchAppointments(criteria, cursor, size));
+    }
+
     /**
      * HTTP GET endpoint to retrieve an appointment by its ID.
      *
@@ -103,32 +270,45 @@ public class AppointmentController {
     // @PreAuthorize("hasRole('ROLE_PETOWNER')")
     // @PostAuthorize("returnObject.user.email == authentication.name ")
     @GetMapping("/{appointmentId}")
-    public Appointment getAppointmentById(@PathVariable int appointmentId) throws AppointmentNotFoundException {
-        return appointmentService.getAppointmentById(appointmentId);
+    public ResponseEntity<AppointmentView> getAppointmentById(@PathVariable int appointmentId)
+            throws AppointmentNotFoundException {
+        Appointment appointment = appointmentService.getAppointmentById(appointmentId);
+        return ResponseEntity.ok().eTag(ETags.of(appointment.getVersion())).body(AppointmentView.of(appointment));
     }
 
     /**
-     * HTTP PUT endpoint to update an existing appointment.
+     * HTTP PUT endpoint to update an existing appointment. A status in the
+     * body is ignored; use PUT /{appointmentId}/status to change it.
      *
      * @param appointmentId The ID of the appointment to be updated.
      * @param appointment   The updated appointment details.
-     * @return The updated appointment.
+     * @param ifMatch       The ETag the client last read; the update is refused
+     *                      with 409 when the appointment has changed since.
+     * @return The updated appointment, with its new ETag.
      * @throws AppointmentNotFoundException If the appointment is not found.
+     * @throws AppointmentExceedException   If the new day is already full.
+     * @throws VersionConflictException     If the appointment changed since the
+     *                                      If-Match version.
      */
 
     @Operation(summary = "Update an appointment", description = "Update the details of an existing appointment")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Appointment successfully updated"),
             @ApiResponse(responseCode = "404", description = "Appointment not found"),
-            @ApiResponse(responseCode = "400", description = "Invalid input")
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "409", description = "Appointment changed since the If-Match version")
     })
     // @PreAuthorize("hasRole('ROLE_PETOWNER') or hasRole('ROLE_ADMIN')")
     // @PostAuthorize("returnObject.user.email == authentication.name")
     @PutMapping("/{appointmentId}")
 
-    public Appointment updateAppointment(@PathVariable int appointmentId, @Valid @RequestBody Appointment appointment)
-            throws AppointmentNotFoundException {
-        return appointmentService.updateAppointmentById(appointmentId, appointment);
+    public ResponseEntity<AppointmentView> updateAppointment(@PathVariable int appointmentId,
+            @Valid @RequestBody Appointment appointment,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws AppointmentNotFoundException, AppointmentExceedException, VersionConflictException {
+        Appointment updated = appointmentService.updateAppointmentById(appointmentId, appointment,
+                ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updated.getVersion())).body(AppointmentView.of(updated));
     }
 
     /**
@@ -151,9 +331,147 @@ public class AppointmentController {
         return appointmentService.deleteAppointmentById(appointmentId);
     }
 
+    /**
+     * HTTP PUT endpoint to change the status of an appointment.
+     *
+     * @param appointmentId The ID of the appointment.
+     * @param status        The new status.
+     * @param expected      The status the appointment must currently be in.
+     * @return 200 once changed, or 400 for an unknown status.
+     * @throws AppointmentNotFoundException      If the appointment is not found.
+     * @throws InvalidStatusTransitionException If the transition is not allowed.
+     */
+    @Operation(summary = "Update appointment status", description = "Move an appointment to a new status")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status successfully updated"),
+            @ApiResponse(responseCode = "400", description = "Unknown status or appointment not found"),
+            @ApiResponse(responseCode = "409", description = "Transition not allowed from the current status")
+    })
     @PutMapping("/{appointmentId}/status")
-    public ResponseEntity<Void> updateAppointmentStatus(@PathVariable int appointmentId, @RequestBody String status) {
-        appointmentService.updateAppointmentStatus(appointmentId, status);
+    public ResponseEntity<Void> updateAppointmentStatus(@PathVariable int appointmentId, @RequestBody String status,
+            @RequestParam(required = false) String expected)
+            throws AppointmentNotFoundException, InvalidStatusTransitionException {
+        AppointmentStatus newStatus = AppointmentStatus.parse(status);
+        AppointmentStatus expectedStatus = AppointmentStatus.parse(expected);
+        if (newStatus == null || (expected != null && expectedStatus == null)) {
+            return ResponseEntity.status(400).build();
+        }
+        appointmentService.updateAppointmentStatus(appointmentId, newStatus, expectedStatus);
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * HTTP PUT endpoint to change the status of many appointments at once.
+     *
+     * @param request The IDs and the new status.
+     * @return The number of changed appointments and the skipped IDs, or 400
+     *         for an unknown status.
+     */
+    @Operation(summary = "Update appointment statuses in bulk", description = "Move many appointments to a new status")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statuses updated"),
+            @ApiResponse(responseCode = "400", description = "Unknown status")
+    })
+    @PutMapping("/status")
+    public ResponseEntity<BulkStatusResult> updateAppointmentStatuses(@RequestBody BulkStatusRequest request) {
+        AppointmentStatus newStatus = AppointmentStatus.parse(request.status());
+        if (newStatus == null || request.appointmentIds() == null
+                || request.appointmentIds().size() > maxBulkItems) {
+            return ResponseEntity.status(400).build();
+        }
+        return ResponseEntity.ok(appointmentService.updateAppointmentStatuses(request.appointmentIds(), newStatus));
+    }
+
+    /**
+     * HTTP GET endpoint to retrieve the next free appointment slots.
+     *
+     * @param from  The earliest acceptable slot start, defaults to now.
+     * @param count The number of slots wanted.
+     * @return The start times of the next free slots.
+     */
+    @Operation(summary = "Get next free slots", description = "Retrieve the next free appointment slots from a date")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Free slots successfully retrieved")
+    })
+    @GetMapping("/availability/next")
+    public List<LocalDateTime> getNextFreeSlots(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(defaultValue = "5") int count) {
+        LocalDateTime start = from != null && from.isAfter(LocalDateTime.now()) ? from : LocalDateTime.now();
+        return appointmentAvailabilityService.findNextFreeSlots(start,
+                Math.max(1, Math.min(count, MAX_SLOTS_PER_QUERY)));
+    }
+
+    /**
+     * HTTP GET endpoint to retrieve the free appointment slots in a date range.
+     *
+     * @param start The first day, inclusive.
+     * @param end   The last day, inclusive.
+     * @return The free slot start times per day, or 400 if end is before start
+     *         or more than the maximum search range after it.
+     */
+    @Operation(summary = "Get free slots in range", description = "Retrieve the free appointment slots of each day in a range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Free slots successfully retrieved"),
+            @ApiResponse(responseCode = "400", description = "End before start or range too long")
+    })
+    @GetMapping("/availability")
+    public ResponseEntity<Map<LocalDate, List<LocalDateTime>>> getFreeSlots(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        if (end.isBefore(start) || end.isAfter(start.plusDays(appointmentAvailabilityService.getMaxSearchDays()))) {
+            return ResponseEntity.status(400).build();
+        }
+        return ResponseEntity.ok(appointmentAvailabilityService.findFreeSlots(start, end));
+    }
+
+    /**
+     * HTTP GET endpoint to retrieve the number of appointments on each day of a
+     * month, for greying out full days in the booking calendar.
+     *
+     * @param month The month, as YYYY-MM.
+     * @return The per-day counts and the daily limit, or 400 for a malformed
+     *         month.
+     */
+    @Operation(summary = "Get monthly calendar", description = "Retrieve the number of appointments per day of a month")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Calendar successfully retrieved"),
+            @ApiResponse(responseCode = "400", description = "Malformed month")
+    })
+    @GetMapping("/calendar")
+    public ResponseEntity<CalendarMonth> getCalendar(@RequestParam String month) {
+        try {
+            return ResponseEntity.ok(appointmentCalendarService.getMonth(YearMonth.parse(month)));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(400).build();
+        }
+    }
+
+    /**
+     * HTTP GET endpoint to export all appointments. Rows are streamed to the
+     * response as they are read, so the export is never held in memory.
+     *
+     * @param format `ndjson` or `csv`.
+     * @return The streamed export, or 400 for an unknown format.
+     */
+    @Operation(summary = "Export appointments", description = "Stream all appointments as NDJSON or CSV")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "400", description = "Unknown format")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.status(400).build();
+        }
+        StreamingResponseBody body = output -> appointmentExportService.export(csv, output);
+        return ResponseEntity.status(200)
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"appointments." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+}
@@ -2,10 +2,13 @@ package com.examly.springapp.controller;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
@@ -131,4 +134,24 @@ public class AuthController {
         // Returning 200 status and the list of users if users are found
         return new ResponseEntity<>(users, HttpStatus.OK);
     }
-}
\ No newline at end of file
+
+    /**
+     * Delete a user with their pets, appointments and feedback
+     * 
+     * @param userId ID of the user to delete
+     * 
+     * @return ResponseEntity with a confirmation message and appropriate status
+     * 
+     * @throws UserNotFoundException if the user is not found
+     */
+    @Operation(summary = "Delete a user", description = "Endpoint to delete a user with their pets, appointments and feedback")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User successfully deleted"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    @DeleteMapping("/api/users/{userId}")
+    public ResponseEntity<Map<String, String>> deleteUserById(@PathVariable int userId) throws UserNotFoundException {
+        userService.deleteUserById(userId);
+        return ResponseEntity.status(200).body(Map.of("message", "User deleted successfully"));
+    }
+}
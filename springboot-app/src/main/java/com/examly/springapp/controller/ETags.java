@@ -0,0 +1,46 @@
+package com.examly.springapp.controller;
+
+/**
+ * Maps entity versions to ETag values and back. The ETag of an entity is its
+ * optimistic lock version in quotes.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Returns the ETag of a version.
+     *
+     * @param version The entity version
+     * @return the quoted version
+     */
+    static String of(int version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Returns the version an If-Match header asks for.
+     *
+     * @param ifMatch The If-Match header value, may be null
+     * @return the version, null when the header is absent or `*`, or -1 when it
+     *         is not an ETag issued by this API so it never matches
+     */
+    static Integer parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Integer.parseInt(tag);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
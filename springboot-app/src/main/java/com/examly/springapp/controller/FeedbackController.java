@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.examly.springapp.exception.FeedbackAlreadyExistException;
 import com.examly.springapp.model.Feedback;
+import com.examly.springapp.model.FeedbackView;
 import com.examly.springapp.service.FeedbackService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -53,8 +54,8 @@ public class FeedbackController {
     })
     // @PreAuthorize("hasRole('ROLE_ADMIN')")
     @GetMapping
-    public ResponseEntity<List<Feedback>> getAll() {
-        List<Feedback> getAllFeedback = feedbackService.getAllFeedbacks();
+    public ResponseEntity<List<FeedbackView>> getAll() {
+        List<FeedbackView> getAllFeedback = feedbackService.getAllFeedbacks();
         if (getAllFeedback.isEmpty()) {
             // Return HTTP 404 if no feedback is found
             return ResponseEntity.status(400).build();
@@ -125,8 +126,8 @@ public class FeedbackController {
     // @PostAuthorize("returnObject.stream().allMatch(feedback ->
     // feedback.getUser().getEmail() == authentication.name) ")
     @GetMapping("/{userId}")
-    public ResponseEntity<List<Feedback>> getFeedBackByuser(@PathVariable int userId) {
-        List<Feedback> feedback = feedbackService.getFeedbacksByUserId(userId);
+    public ResponseEntity<List<FeedbackView>> getFeedBackByuser(@PathVariable int userId) {
+        List<FeedbackView> feedback = feedbackService.getFeedbacksByUserId(userId);
         if (feedback == null) {
             // Return HTTP 404 if feedback for the user is not found
             return ResponseEntity.status(404).body(null);
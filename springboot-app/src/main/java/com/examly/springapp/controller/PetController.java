@@ -1,9 +1,14 @@
 package com.examly.springapp.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,18 +16,30 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 import com.examly.springapp.exception.PetNotFoundException;
 import com.examly.springapp.exception.UserNotFoundException;
+import com.examly.springapp.exception.VersionConflictException;
 import com.examly.springapp.model.Pet;
+import com.examly.springapp.model.PetAttachmentView;
+import com.examly.springapp.model.PetIdsRequest;
+import com.examly.springapp.model.PetImportJob;
+import com.examly.springapp.model.PetView;
 import com.examly.springapp.repository.UserRepo;
+import com.examly.springapp.service.PetAttachmentService;
+import com.examly.springapp.service.PetImportService;
 import com.examly.springapp.service.PetServiceImpl;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 /**
@@ -32,17 +49,30 @@ import jakarta.validation.Valid;
 @Tag(name = "Pet", description = "Operations pertaining to pets in Pet Care Application")
 public class PetController {
 
+    // Upper bound on the limit of a search
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final PetServiceImpl petServiceImpl;
     private final UserRepo userRepo;
+    private final PetImportService petImportService;
+    private final PetAttachmentService petAttachmentService;
+
+    @Value("${pets.lookup.max-ids:1000}")
+    private int maxLookupIds;
 
     /**
      * Constructor injection for PetServiceImpl.
      *
-     * @param petServiceImpl The service to handle pet operations.
+     * @param petServiceImpl       The service to handle pet operations.
+     * @param petImportService     The service running bulk imports.
+     * @param petAttachmentService The service storing files attached to pets.
      */
-    public PetController(PetServiceImpl petServiceImpl, UserRepo userRepo) {
+    public PetController(PetServiceImpl petServiceImpl, UserRepo userRepo, PetImportService petImportService,
+            PetAttachmentService petAttachmentService) {
         this.petServiceImpl = petServiceImpl;
         this.userRepo = userRepo;
+        this.petImportService = petImportService;
+        this.petAttachmentService = petAttachmentService;
     }
 
     /**
@@ -86,7 +116,7 @@ public class PetController {
         Pet getPet = petServiceImpl.getPetById(petId);
         if (getPet != null) {
             // Return HTTP 200 if pet is found
-            return ResponseEntity.status(200).body(getPet);
+            return ResponseEntity.status(200).eTag(ETags.of(getPet.getVersion())).body(getPet);
         }
         throw new PetNotFoundException("Pet with petId " + petId + " not found");
     }
@@ -95,23 +125,29 @@ public class PetController {
      * HTTP PUT endpoint to update a pet by its ID.
      *
      * @param petId The ID of the pet to be updated.
-     * @param pet   The updated pet details.
-     * @return The updated pet.
+     * @param pet     The updated pet details.
+     * @param ifMatch The ETag the client last read; the update is refused with
+     *                409 when the pet has changed since.
+     * @return The updated pet, with its new ETag.
+     * @throws VersionConflictException If the pet changed since the If-Match
+     *                                  version.
      */
     @Operation(summary = "Update pet by ID", description = "Update the details of an existing pet by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Pet successfully updated"),
-            @ApiResponse(responseCode = "400", description = "Pet not found")
+            @ApiResponse(responseCode = "400", description = "Pet not found"),
+            @ApiResponse(responseCode = "409", description = "Pet changed since the If-Match version")
     })
     // @PreAuthorize("hasRole('ROLE_PETOWNER')")
     // @PostAuthorize("returnObject.body.user.email == authentication.name ")
     @PutMapping("/api/pet/{petId}")
-    public ResponseEntity<Pet> updatePetById(@PathVariable int petId, @Valid @RequestBody Pet pet)
-            throws PetNotFoundException {
-        Pet updatePets = petServiceImpl.updatePetById(petId, pet);
+    public ResponseEntity<Pet> updatePetById(@PathVariable int petId, @Valid @RequestBody Pet pet,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws PetNotFoundException, VersionConflictException {
+        Pet updatePets = petServiceImpl.updatePetById(petId, pet, ETags.parseIfMatch(ifMatch));
         if (updatePets != null) {
             // Return HTTP 200 if pet is updated successfully
-            return ResponseEntity.status(200).body(updatePets);
+            return ResponseEntity.status(200).eTag(ETags.of(updatePets.getVersion())).body(updatePets);
         }
         throw new PetNotFoundException("Pet with petId " + petId + " not found");
     }
@@ -166,11 +202,11 @@ public class PetController {
     // @PostAuthorize("returnObject.body.stream().allMatch(pet ->
     // pet.getUser().getEmail().equals(authentication.name))")
     @GetMapping("/api/pet/user/{userId}")
-    public ResponseEntity<List<Pet>> getAllPetsByUserId(@PathVariable int userId) throws UserNotFoundException {
+    public ResponseEntity<List<PetView>> getAllPetsByUserId(@PathVariable int userId) throws UserNotFoundException {
         if (!userRepo.existsById(userId)) {
             throw new UserNotFoundException("User with UserId " + userId + " not found.");
         }
-        List<Pet> getAllPet = petServiceImpl.getAllPetsByUserId(userId);
+        List<PetView> getAllPet = petServiceImpl.getAllPetsByUserId(userId);
         if (getAllPet != null) {
             // Return HTTP 200 if pets are found
             return ResponseEntity.status(200).body(getAllPet);
@@ -179,10 +215,212 @@ public class PetController {
         return ResponseEntity.status(500).body(null);
     }
 
-    @PostMapping("/pets/by-ids")
-    public List<Pet> getPetsByIds(@RequestBody List<Integer> petIds) {
-        return null;
-        // return PetService.getPetsByIds(petIds);
+    /**
+     * HTTP GET endpoint to search all pets by name, species and breed.
+     *
+     * @param q     The words to look for; the last may be incomplete.
+     * @param fuzzy Whether small typos are tolerated.
+     * @param limit The maximum number of pets returned.
+     * @return The best matching pets, best first.
+     */
+    @Operation(summary = "Search pets", description = "Search all pets by name, species and breed, with typeahead and typo tolerance")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching pets retrieved")
+    })
+    @GetMapping("/api/pet/search")
+    public ResponseEntity<List<PetView>> searchPets(@RequestParam String q,
+            @RequestParam(defaultValue = "true") boolean fuzzy,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(petServiceImpl.searchPets(q, fuzzy, Math.min(limit, MAX_SEARCH_RESULTS)));
+    }
+
+    /**
+     * HTTP POST endpoint to create a bulk import, to be fed with its data by a
+     * PUT to the returned job.
+     *
+     * @param format The upload format, csv or ndjson.
+     * @return The pending import job.
+     */
+    @Operation(summary = "Create a pet import", description = "Create a bulk pet import from CSV or NDJSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Import created"),
+            @ApiResponse(responseCode = "400", description = "Unknown format")
+    })
+    @PostMapping("/api/pet/import")
+    public ResponseEntity<PetImportJob> createImport(@RequestParam String format) {
+        if (!PetImportService.CSV.equals(format) && !PetImportService.NDJSON.equals(format)) {
+            return ResponseEntity.status(400).build();
+        }
+        return ResponseEntity.status(201).body(petImportService.createJob(format));
+    }
+
+    /**
+     * HTTP PUT endpoint streaming the data of an import. CSV uploads start with
+     * a header naming the name, species, breed, dateOfBirth, ownerEmail and
+     * optional status columns; NDJSON uploads hold one object with those
+     * fields per line.
+     *
+     * @param jobId   The ID of the pending import.
+     * @param request The request whose body is read as a stream.
+     * @return The finished import with its error report.
+     * @throws IOException If the upload cannot be read.
+     */
+    @Operation(summary = "Upload pet import data", description = "Stream the rows of a pending pet import")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished"),
+            @ApiResponse(responseCode = "404", description = "Import not found"),
+            @ApiResponse(responseCode = "409", description = "Import already started")
+    })
+    @PutMapping("/api/pet/import/{jobId}")
+    public ResponseEntity<PetImportJob> runImport(@PathVariable String jobId, HttpServletRequest request)
+            throws IOException {
+        if (petImportService.getJob(jobId) == null) {
+            return ResponseEntity.status(404).build();
+        }
+        PetImportJob job = petImportService.run(jobId, request.getInputStream());
+        if (job == null) {
+            return ResponseEntity.status(409).build();
+        }
+        return ResponseEntity.ok(job);
+    }
+
+    /**
+     * HTTP GET endpoint to read the progress of an import.
+     *
+     * @param jobId The ID of the import.
+     * @return The import job with its counts so far.
+     */
+    @Operation(summary = "Get pet import progress", description = "Retrieve the progress and errors of a pet import")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import retrieved"),
+            @ApiResponse(responseCode = "404", description = "Import not found")
+    })
+    @GetMapping("/api/pet/import/{jobId}")
+    public ResponseEntity<PetImportJob> getImport(@PathVariable String jobId) {
+        PetImportJob job = petImportService.getJob(jobId);
+        if (job == null) {
+            return ResponseEntity.status(404).build();
+        }
+        return ResponseEntity.ok(job);
+    }
+
+    /**
+     * HTTP POST endpoint to attach a file to a pet.
+     *
+     * @param petId The ID of the pet.
+     * @param file  The uploaded file, an image, PDF or DICOM document.
+     * @return The stored attachment.
+     * @throws PetNotFoundException If the pet is not found.
+     * @throws IOException          If the upload cannot be read or stored.
+     */
+    @Operation(summary = "Attach a file to a pet", description = "Upload an X-ray, certificate or photo of a pet")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "File attached"),
+            @ApiResponse(responseCode = "400", description = "Pet not found"),
+            @ApiResponse(responseCode = "415", description = "File type not accepted")
+    })
+    @PostMapping(value = "/api/pet/{petId}/attachments", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<PetAttachmentView> addAttachment(@PathVariable int petId,
+            @RequestParam("file") MultipartFile file) throws PetNotFoundException, IOException {
+        if (!petAttachmentService.isAllowedType(file.getContentType())) {
+            return ResponseEntity.status(415).build();
+        }
+        try (InputStream content = file.getInputStream()) {
+            return ResponseEntity.status(201).body(petAttachmentService.addAttachment(petId,
+                    file.getOriginalFilename(), file.getContentType(), content));
+        }
+    }
+
+    /**
+     * HTTP GET endpoint to list the files attached to a pet.
+     *
+     * @param petId The ID of the pet.
+     * @return The attachments of the pet, oldest first.
+     * @throws PetNotFoundException If the pet is not found.
+     */
+    @Operation(summary = "List pet attachments", description = "Retrieve the files attached to a pet")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Attachments retrieved"),
+            @ApiResponse(responseCode = "400", description = "Pet not found")
+    })
+    @GetMapping("/api/pet/{petId}/attachments")
+    public ResponseEntity<List<PetAttachmentView>> getAttachments(@PathVariable int petId)
+            throws PetNotFoundException {
+        return ResponseEntity.ok(petAttachmentService.getAttachments(petId));
+    }
+
+    /**
+     * HTTP GET endpoint to download a file attached to a pet. Supports Range
+     * requests, and answers 304 when If-None-Match holds the ETag.
+     *
+     * @param petId        The ID of the pet.
+     * @param attachmentId The ID of the attachment.
+     * @param request      The request, read for the conditional and range
+     *                     headers.
+     * @param response     The response the file is streamed to.
+     * @throws IOException If the file cannot be read or sent.
+     */
+    @Operation(summary = "Download a pet attachment", description = "Download a file attached to a pet, whole or in ranges")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "File sent"),
+            @ApiResponse(responseCode = "206", description = "Range of the file sent"),
+            @ApiResponse(responseCode = "304", description = "File unchanged since the If-None-Match ETag"),
+            @ApiResponse(responseCode = "404", description = "Attachment not found"),
+            @ApiResponse(responseCode = "416", description = "Range not satisfiable")
+    })
+    @GetMapping("/api/pet/{petId}/attachments/{attachmentId}")
+    public void downloadAttachment(@PathVariable int petId, @PathVariable int attachmentId,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        PetAttachmentView attachment = petAttachmentService.getAttachment(petId, attachmentId);
+        if (attachment == null) {
+            response.setStatus(404);
+            return;
+        }
+        // The content never changes, so its hash is a strong ETag
+        FileResponses.write(request, response, petAttachmentService.getContent(attachment),
+                "\"" + attachment.sha256() + "\"", attachment.contentType(), attachment.fileName());
+    }
+
+    /**
+     * HTTP DELETE endpoint to remove a file attached to a pet.
+     *
+     * @param petId        The ID of the pet.
+     * @param attachmentId The ID of the attachment.
+     * @return A message indicating the deletion status.
+     */
+    @Operation(summary = "Delete a pet attachment", description = "Remove a file attached to a pet")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Attachment deleted"),
+            @ApiResponse(responseCode = "404", description = "Attachment not found")
+    })
+    @DeleteMapping("/api/pet/{petId}/attachments/{attachmentId}")
+    public ResponseEntity<Map<String, String>> deleteAttachment(@PathVariable int petId,
+            @PathVariable int attachmentId) {
+        if (!petAttachmentService.deleteAttachment(petId, attachmentId)) {
+            return ResponseEntity.status(404).build();
+        }
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Attachment with id " + attachmentId + " deleted successfully!");
+        return ResponseEntity.status(200).body(response);
+    }
+
+    /**
+     * HTTP POST endpoint to get several pets in one request.
+     *
+     * @param request The IDs of the pets, duplicates are ignored.
+     * @return The existing pets, in the order their IDs first appear.
+     */
+    @Operation(summary = "Get pets by IDs", description = "Retrieve several pets by their IDs in one request")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Pets successfully retrieved"),
+            @ApiResponse(responseCode = "400", description = "No IDs list or too many IDs")
+    })
+    @PostMapping("/api/pets/by-ids")
+    public ResponseEntity<List<PetView>> getPetsByIds(@RequestBody PetIdsRequest request) {
+        if (request.petIds() == null || request.petIds().size() > maxLookupIds) {
+            return ResponseEntity.status(400).build();
+        }
+        return ResponseEntity.ok(petServiceImpl.getPetsByIds(request.petIds()));
     }
 
 }
\ No newline at end of file
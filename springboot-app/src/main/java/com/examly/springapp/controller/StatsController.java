@@ -0,0 +1,48 @@
+package com.examly.springapp.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.examly.springapp.model.DashboardStats;
+import com.examly.springapp.service.DashboardStatsService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Controller class serving the admin dashboard counts.
+ */
+@RestController
+@RequestMapping("/api/stats")
+@Tag(name = "Stats", description = "Counts for the admin dashboard")
+public class StatsController {
+
+    private final DashboardStatsService dashboardStatsService;
+
+    /**
+     * Constructor injection for DashboardStatsService.
+     *
+     * @param dashboardStatsService The service keeping the dashboard counts.
+     */
+    public StatsController(DashboardStatsService dashboardStatsService) {
+        this.dashboardStatsService = dashboardStatsService;
+    }
+
+    /**
+     * HTTP GET endpoint to retrieve every dashboard count in one call.
+     *
+     * @return Pets per species, breed and status, and appointments per status.
+     */
+    @Operation(summary = "Get dashboard statistics", description = "Retrieve pet and appointment counts for the admin dashboard")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics successfully retrieved")
+    })
+    @GetMapping
+    public ResponseEntity<DashboardStats> getStats() {
+        return ResponseEntity.ok(dashboardStatsService.getStats());
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -75,6 +76,46 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(400).body(e.getMessage());
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> invalidCursorException(InvalidCursorException e) {
+        return ResponseEntity.status(400).body(e.getMessage());
+    }
+
+    /**
+     * Handles InvalidStatusTransitionException.
+     * 
+     * @param e The InvalidStatusTransitionException thrown.
+     * @return A ResponseEntity with HTTP status 409 and the exception message.
+     */
+    @ExceptionHandler(InvalidStatusTransitionException.class)
+    public ResponseEntity<String> invalidStatusTransitionException(InvalidStatusTransitionException e) {
+        return ResponseEntity.status(409).body(e.getMessage());
+    }
+
+    /**
+     * Handles VersionConflictException, raised when an If-Match version is
+     * stale.
+     * 
+     * @param e The VersionConflictException thrown.
+     * @return A ResponseEntity with HTTP status 409 and the exception message.
+     */
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<String> versionConflictException(VersionConflictException e) {
+        return ResponseEntity.status(409).body(e.getMessage());
+    }
+
+    /**
+     * Handles optimistic lock failures, raised when a row changed between being
+     * read and written.
+     * 
+     * @param e The ObjectOptimisticLockingFailureException thrown.
+     * @return A ResponseEntity with HTTP status 409.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> optimisticLockingFailureException(ObjectOptimisticLockingFailureException e) {
+        return ResponseEntity.status(409).body("The record was changed by another request, reload and retry");
+    }
+
     @ExceptionHandler(AppointmentExceedException.class)
     public ResponseEntity<String> AppointmentExceedException(AppointmentExceedException e) {
         return ResponseEntity.status(400).body(e.getMessage());
@@ -85,4 +126,15 @@ public class GlobalExceptionHandler {
     public ResponseEntity<String> feedbackAlreadyExistException(FeedbackAlreadyExistException e) {
         return ResponseEntity.status(400).body(e.getMessage());
     }
-}
\ No newline at end of file
+
+    /**
+     * Handles PasswordHashingUnavailableException.
+     * 
+     * @param e The PasswordHashingUnavailableException thrown.
+     * @return A ResponseEntity with HTTP status 503 and the exception message.
+     */
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<String> passwordHashingUnavailableException(PasswordHashingUnavailableException e) {
+        return ResponseEntity.status(503).header("Retry-After", "1").body(e.getMessage());
+    }
+}
@@ -0,0 +1,28 @@
+package com.examly.springapp.exception;
+
+/**
+ * Custom exception class to handle cases where a pagination cursor cannot be
+ * decoded.
+ */
+public class InvalidCursorException extends Exception {
+
+    /**
+     * Default constructor for InvalidCursorException.
+     * Calls the default constructor of the superclass (Exception).
+     */
+    public InvalidCursorException() {
+        super();
+    }
+
+    /**
+     * Parameterized constructor for InvalidCursorException.
+     * Calls the parameterized constructor of the superclass (Exception) with the
+     * provided message.
+     * 
+     * @param message A custom error message that explains the reason for the
+     *                exception.
+     */
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.examly.springapp.exception;
+
+/**
+ * Custom exception class to handle cases where an appointment cannot move to
+ * the requested status from the one it is in.
+ */
+public class InvalidStatusTransitionException extends Exception {
+
+    /**
+     * Default constructor for InvalidStatusTransitionException.
+     * Calls the default constructor of the superclass (Exception).
+     */
+    public InvalidStatusTransitionException() {
+        super();
+    }
+
+    /**
+     * Parameterized constructor for InvalidStatusTransitionException.
+     * Calls the parameterized constructor of the superclass (Exception) with the
+     * provided message.
+     * 
+     * @param message A custom error message that explains the reason for the
+     *                exception.
+     */
+    public InvalidStatusTransitionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,29 @@
+package com.examly.springapp.exception;
+
+/**
+ * Custom exception class to handle cases where a password cannot be hashed
+ * because the hashing executor is saturated.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    /**
+     * Default constructor for PasswordHashingUnavailableException.
+     * Calls the default constructor of the superclass (RuntimeException).
+     */
+    public PasswordHashingUnavailableException() {
+        super();
+    }
+
+    /**
+     * Constructor that accepts a custom message for
+     * PasswordHashingUnavailableException.
+     * Calls the parameterized constructor of the superclass (RuntimeException)
+     * with the provided message.
+     *
+     * @param message A custom error message that explains the reason for the
+     *                exception.
+     */
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.examly.springapp.exception;
+
+/**
+ * Custom exception class to handle cases where an entity was changed by
+ * someone else since the version the client read.
+ */
+public class VersionConflictException extends Exception {
+
+    /**
+     * Default constructor for VersionConflictException.
+     * Calls the default constructor of the superclass (Exception).
+     */
+    public VersionConflictException() {
+        super();
+    }
+
+    /**
+     * Parameterized constructor for VersionConflictException.
+     * Calls the parameterized constructor of the superclass (Exception) with the
+     * provided message.
+     * 
+     * @param message A custom error message that explains the reason for the
+     *                exception.
+     */
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
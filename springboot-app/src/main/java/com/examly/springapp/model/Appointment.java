@@ -2,12 +2,14 @@ package com.examly.springapp.model;
 
 import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -30,6 +32,14 @@ public class Appointment {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int appointmentId;
 
+    /**
+     * Optimistic lock version, incremented on every update and exposed as the
+     * ETag of the appointment. Set by the server only.
+     */
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int version;
+
     /**
      * Fields representing appointment information.
      */
@@ -154,4 +164,15 @@ public class Appointment {
     public void setStatus(String status) {
         this.status = status;
     }
-}
\ No newline at end of file
+
+    /**
+     * Getter and setter methods for version.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+}
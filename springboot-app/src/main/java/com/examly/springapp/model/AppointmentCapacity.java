@@ -0,0 +1,65 @@
+package com.examly.springapp.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Entity annotation indicates that this class is mapped to a database table.
+ * Holds one row per day with the number of appointments booked on it, so the
+ * daily limit can be enforced with a single conditional update.
+ */
+@Entity
+public class AppointmentCapacity {
+
+    /**
+     * Primary key for the AppointmentCapacity entity, the booked day.
+     */
+    @Id
+    private LocalDate capacityDate;
+
+    /**
+     * Number of appointments booked on the day.
+     */
+    private int bookedCount;
+
+    /**
+     * Default constructor for AppointmentCapacity class.
+     */
+    public AppointmentCapacity() {
+    }
+
+    /**
+     * Parameterized constructor for AppointmentCapacity class.
+     *
+     * @param capacityDate The booked day.
+     * @param bookedCount  The number of appointments booked on the day.
+     */
+    public AppointmentCapacity(LocalDate capacityDate, int bookedCount) {
+        this.capacityDate = capacityDate;
+        this.bookedCount = bookedCount;
+    }
+
+    /**
+     * Getter and setter methods for capacityDate.
+     */
+    public LocalDate getCapacityDate() {
+        return capacityDate;
+    }
+
+    public void setCapacityDate(LocalDate capacityDate) {
+        this.capacityDate = capacityDate;
+    }
+
+    /**
+     * Getter and setter methods for bookedCount.
+     */
+    public int getBookedCount() {
+        return bookedCount;
+    }
+
+    public void setBookedCount(int bookedCount) {
+        this.bookedCount = bookedCount;
+    }
+}
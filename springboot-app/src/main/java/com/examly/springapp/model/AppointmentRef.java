@@ -0,0 +1,17 @@
+package com.examly.springapp.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keys of an appointment that is about to be removed, read without loading the
+ * entity, its user or its pet.
+ *
+ * @param appointmentId   The ID of the appointment.
+ * @param appointmentDate The date and time of the appointment.
+ * @param status          The status of the appointment.
+ * @param userId          The ID of the user who booked the appointment.
+ * @param petId           The ID of the pet.
+ */
+public record AppointmentRef(int appointmentId, LocalDateTime appointmentDate, String status, int userId,
+        int petId) {
+}
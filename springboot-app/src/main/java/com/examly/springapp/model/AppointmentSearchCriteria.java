@@ -0,0 +1,17 @@
+package com.examly.springapp.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters of an appointment search. Null fields are not filtered on.
+ *
+ * @param status  The status of the appointments.
+ * @param from    The earliest appointment date, inclusive.
+ * @param to      The latest appointment date, exclusive.
+ * @param userId  The ID of the user who booked the appointments.
+ * @param species The species of the pets.
+ * @param reason  Text the reason must contain.
+ */
+public record AppointmentSearchCriteria(String status, LocalDateTime from, LocalDateTime to, Integer userId,
+        String species, String reason) {
+}
@@ -0,0 +1,63 @@
+package com.examly.springapp.model;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Statuses an appointment moves through: PENDING, then APPROVED or REJECTED,
+ * then CLOSED. An approved appointment may still be rejected.
+ */
+public enum AppointmentStatus {
+    PENDING, APPROVED, REJECTED, CLOSED;
+
+    /**
+     * Returns the statuses an appointment may be in to move to this one.
+     *
+     * @return the allowed previous statuses, empty for PENDING
+     */
+    public Set<AppointmentStatus> previous() {
+        switch (this) {
+            case APPROVED:
+                return EnumSet.of(PENDING);
+            case REJECTED:
+                return EnumSet.of(PENDING, APPROVED);
+            case CLOSED:
+                return EnumSet.of(APPROVED, REJECTED);
+            default:
+                return EnumSet.noneOf(AppointmentStatus.class);
+        }
+    }
+
+    /**
+     * Returns the names of the allowed previous statuses, as stored in the
+     * appointment table.
+     *
+     * @return the names of the allowed previous statuses
+     */
+    public List<String> previousNames() {
+        return previous().stream().map(Enum::name).toList();
+    }
+
+    /**
+     * Parses a status name, ignoring case, surrounding whitespace and quotes.
+     *
+     * @param value The status name
+     * @return the status, or null if the name is unknown
+     */
+    public static AppointmentStatus parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        String name = value.trim();
+        if (name.length() >= 2 && name.startsWith("\"") && name.endsWith("\"")) {
+            name = name.substring(1, name.length() - 1).trim();
+        }
+        for (AppointmentStatus status : values()) {
+            if (status.name().equalsIgnoreCase(name)) {
+                return status;
+            }
+        }
+        return null;
+    }
+}
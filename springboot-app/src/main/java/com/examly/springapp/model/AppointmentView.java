@@ -0,0 +1,42 @@
+package com.examly.springapp.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of an appointment for listings and single reads. Keeps the nested
+ * `user` and `pet` shape of the entity JSON but only with the fields the
+ * views need.
+ *
+ * @param appointmentId   The ID of the appointment.
+ * @param appointmentDate The date and time of the appointment.
+ * @param reason          The reason for the appointment.
+ * @param status          The status of the appointment.
+ * @param user            The user who booked the appointment.
+ * @param pet             The pet the appointment is for.
+ */
+public record AppointmentView(int appointmentId, LocalDateTime appointmentDate, String reason, String status,
+        UserSummary user, PetSummary pet) {
+
+    /**
+     * Flat constructor used by JPQL constructor expressions.
+     */
+    public AppointmentView(int appointmentId, LocalDateTime appointmentDate, String reason, String status,
+            int userId, String username, String email, int petId, String petName, String species, String breed) {
+        this(appointmentId, appointmentDate, reason, status, new UserSummary(userId, username, email),
+                new PetSummary(petId, petName, species, breed));
+    }
+
+    /**
+     * Builds the view of a loaded appointment.
+     *
+     * @param appointment The appointment, with its user and pet.
+     * @return the view of the appointment
+     */
+    public static AppointmentView of(Appointment appointment) {
+        User user = appointment.getUser();
+        Pet pet = appointment.getPet();
+        return new AppointmentView(appointment.getAppointmentId(), appointment.getAppointmentDate(),
+                appointment.getReason(), appointment.getStatus(), user.getUserId(), user.getUsername(),
+                user.getEmail(), pet.getPetId(), pet.getName(), pet.getSpecies(), pet.getBreed());
+    }
+}
@@ -0,0 +1,20 @@
+package com.examly.springapp.model;
+
+/**
+ * Outcome of one item of a bulk appointment request.
+ *
+ * @param index         The position of the item in the request.
+ * @param status        CREATED or REJECTED.
+ * @param appointmentId The ID of the created appointment, null if rejected.
+ * @param error         The reason the item was rejected, null if created.
+ */
+public record BulkAppointmentResult(int index, String status, Integer appointmentId, String error) {
+
+    public static BulkAppointmentResult created(int index, int appointmentId) {
+        return new BulkAppointmentResult(index, "CREATED", appointmentId, null);
+    }
+
+    public static BulkAppointmentResult rejected(int index, String error) {
+        return new BulkAppointmentResult(index, "REJECTED", null, error);
+    }
+}
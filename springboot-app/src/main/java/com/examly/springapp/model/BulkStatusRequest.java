@@ -0,0 +1,12 @@
+package com.examly.springapp.model;
+
+import java.util.List;
+
+/**
+ * Request body of a bulk status change.
+ *
+ * @param appointmentIds The IDs of the appointments to change.
+ * @param status         The new status.
+ */
+public record BulkStatusRequest(List<Integer> appointmentIds, String status) {
+}
@@ -0,0 +1,14 @@
+package com.examly.springapp.model;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk status change.
+ *
+ * @param status  The requested status.
+ * @param updated The number of appointments moved to the status.
+ * @param skipped The IDs that are not in the status afterwards, because they
+ *                do not exist or the transition is not allowed.
+ */
+public record BulkStatusResult(String status, int updated, List<Integer> skipped) {
+}
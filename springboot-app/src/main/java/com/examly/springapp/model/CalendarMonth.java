@@ -0,0 +1,15 @@
+package com.examly.springapp.model;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Number of appointments on each day of a month.
+ *
+ * @param month     The month, as YYYY-MM.
+ * @param maxPerDay The maximum number of appointments per day.
+ * @param counts    The number of appointments per day, for every day of the
+ *                  month in order.
+ */
+public record CalendarMonth(String month, int maxPerDay, Map<LocalDate, Long> counts) {
+}
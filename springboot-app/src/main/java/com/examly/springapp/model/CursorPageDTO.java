@@ -0,0 +1,53 @@
+package com.examly.springapp.model;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) class representing one page of a keyset-paginated
+ * listing. Contains the items of the page and the opaque cursor of the next
+ * page, which is null on the last page.
+ *
+ * @param <T> the type of the listed items
+ */
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+
+    private String nextCursor;
+
+    public CursorPageDTO() {
+    }
+
+    /**
+     * Parameterized constructor for CursorPageDTO class.
+     *
+     * @param items      The items of the page.
+     * @param nextCursor The cursor of the next page, or null on the last page.
+     */
+    public CursorPageDTO(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Getter and setter methods for items.
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    /**
+     * Getter and setter methods for nextCursor.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,21 @@
+package com.examly.springapp.model;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Counts shown on the admin dashboard.
+ *
+ * @param totalPets            The number of pets.
+ * @param totalAppointments    The number of appointments.
+ * @param petsBySpecies        The number of pets per species.
+ * @param petsByBreed          The number of pets per breed.
+ * @param petsByStatus         The number of pets per health status.
+ * @param appointmentsByStatus The number of appointments per status.
+ * @param reconciledAt         When the counts were last recomputed from the
+ *                             database, or null before the first time.
+ */
+public record DashboardStats(long totalPets, long totalAppointments, Map<String, Long> petsBySpecies,
+        Map<String, Long> petsByBreed, Map<String, Long> petsByStatus, Map<String, Long> appointmentsByStatus,
+        LocalDateTime reconciledAt) {
+}
@@ -0,0 +1,83 @@
+package com.examly.springapp.model;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A domain event as handed to DomainEventSubscriber beans.
+ *
+ * @param id            The outbox ID, increasing in publication order; the
+ *                      same event may be delivered more than once.
+ * @param aggregateType The kind of entity the event is about.
+ * @param aggregateId   The ID of the entity.
+ * @param type          The event name.
+ * @param payload       The event details.
+ * @param occurredAt    The time the change was made.
+ */
+public record DomainEvent(long id, String aggregateType, int aggregateId, String type, Map<String, Object> payload,
+        LocalDateTime occurredAt) {
+
+    public static final String APPOINTMENT = "Appointment";
+    public static final String FEEDBACK = "Feedback";
+
+    public static final String APPOINTMENT_CREATED = "AppointmentCreated";
+    public static final String APPOINTMENT_UPDATED = "AppointmentUpdated";
+    public static final String APPOINTMENT_DELETED = "AppointmentDeleted";
+    public static final String APPOINTMENT_STATUS_CHANGED = "AppointmentStatusChanged";
+    public static final String FEEDBACK_CREATED = "FeedbackCreated";
+    public static final String FEEDBACK_DELETED = "FeedbackDeleted";
+
+    /**
+     * Returns the payload of an appointment event.
+     *
+     * @param appointment The appointment
+     * @return its date, status, user ID and pet ID
+     */
+    public static Map<String, Object> payloadOf(Appointment appointment) {
+        return payloadOf(new AppointmentRef(appointment.getAppointmentId(), appointment.getAppointmentDate(),
+                appointment.getStatus(), appointment.getUser().getUserId(), appointment.getPet().getPetId()));
+    }
+
+    /**
+     * Returns the payload of an appointment event.
+     *
+     * @param appointment The keys of the appointment
+     * @return its date, status, user ID and pet ID
+     */
+    public static Map<String, Object> payloadOf(AppointmentRef appointment) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("appointmentId", appointment.appointmentId());
+        payload.put("appointmentDate", appointment.appointmentDate());
+        payload.put("status", appointment.status());
+        payload.put("userId", appointment.userId());
+        payload.put("petId", appointment.petId());
+        return payload;
+    }
+
+    /**
+     * Returns the payload of a feedback event.
+     *
+     * @param feedback The feedback
+     * @return its appointment ID, user ID and rating
+     */
+    public static Map<String, Object> payloadOf(Feedback feedback) {
+        return payloadOf(new FeedbackRef(feedback.getFeedbackId(), feedback.getAppointment().getAppointmentId(),
+                feedback.getUser().getUserId(), feedback.getRating()));
+    }
+
+    /**
+     * Returns the payload of a feedback event.
+     *
+     * @param feedback The keys of the feedback
+     * @return its appointment ID, user ID and rating
+     */
+    public static Map<String, Object> payloadOf(FeedbackRef feedback) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("feedbackId", feedback.feedbackId());
+        payload.put("appointmentId", feedback.appointmentId());
+        payload.put("userId", feedback.userId());
+        payload.put("rating", feedback.rating());
+        return payload;
+    }
+}
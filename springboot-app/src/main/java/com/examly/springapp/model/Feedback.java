@@ -1,11 +1,13 @@
 package com.examly.springapp.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -28,6 +30,14 @@ public class Feedback {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int feedbackId;
 
+    /**
+     * Optimistic lock version, incremented on every update and exposed as the
+     * ETag of the feedback. Set by the server only.
+     */
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int version;
+
     /**
      * Many-to-one relationship with User entity.
      * 
@@ -137,4 +147,15 @@ public class Feedback {
     public void setRating(int rating) {
         this.rating = rating;
     }
-}
\ No newline at end of file
+
+    /**
+     * Getter and setter methods for version.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+}
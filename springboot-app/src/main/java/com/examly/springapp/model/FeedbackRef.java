@@ -0,0 +1,13 @@
+package com.examly.springapp.model;
+
+/**
+ * Keys of a feedback entry that is about to be removed, read without loading
+ * the entity, its user or its appointment.
+ *
+ * @param feedbackId    The ID of the feedback.
+ * @param appointmentId The ID of the appointment the feedback is on.
+ * @param userId        The ID of the user who wrote the feedback.
+ * @param rating        The rating given.
+ */
+public record FeedbackRef(int feedbackId, int appointmentId, int userId, int rating) {
+}
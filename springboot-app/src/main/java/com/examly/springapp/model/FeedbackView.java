@@ -0,0 +1,40 @@
+package com.examly.springapp.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a feedback for listings. Embeds a summary of the
+ * appointment instead of the whole appointment with its user and pet.
+ *
+ * @param feedbackId  The ID of the feedback.
+ * @param message     The feedback message.
+ * @param rating      The feedback rating.
+ * @param user        The user who gave the feedback.
+ * @param appointment The appointment the feedback is about.
+ */
+public record FeedbackView(int feedbackId, String message, int rating, UserSummary user,
+        AppointmentSummary appointment) {
+
+    /**
+     * Flat constructor used by JPQL constructor expressions.
+     */
+    public FeedbackView(int feedbackId, String message, int rating, int userId, String username, String email,
+            int appointmentId, LocalDateTime appointmentDate, String status, int petId, String petName,
+            String species, String breed) {
+        this(feedbackId, message, rating, new UserSummary(userId, username, email),
+                new AppointmentSummary(appointmentId, appointmentDate, status,
+                        new PetSummary(petId, petName, species, breed)));
+    }
+
+    /**
+     * Summary of the appointment a feedback belongs to.
+     *
+     * @param appointmentId   The ID of the appointment.
+     * @param appointmentDate The date and time of the appointment.
+     * @param status          The status of the appointment.
+     * @param pet             The pet the appointment was for.
+     */
+    public record AppointmentSummary(int appointmentId, LocalDateTime appointmentDate, String status,
+            PetSummary pet) {
+    }
+}
@@ -0,0 +1,148 @@
+package com.examly.springapp.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+
+/**
+ * Entity annotation indicates that this class is mapped to a database table.
+ * Holds a domain event until OutboxRelay has delivered it to the subscribers.
+ */
+@Entity
+public class OutboxEvent {
+
+    /**
+     * Primary key for the OutboxEvent entity, also the delivery order.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    /**
+     * The kind and ID of the entity the event is about, e.g. Appointment 42.
+     */
+    private String aggregateType;
+
+    private int aggregateId;
+
+    /**
+     * The event name, e.g. AppointmentStatusChanged.
+     */
+    private String eventType;
+
+    /**
+     * The event details as a JSON object.
+     */
+    @Column(length = 4000)
+    private String payload;
+
+    private LocalDateTime createdAt;
+
+    /**
+     * The earliest time of the next delivery attempt.
+     */
+    private LocalDateTime availableAt;
+
+    /**
+     * Number of failed delivery attempts.
+     */
+    private int attempts;
+
+    /**
+     * Default constructor for OutboxEvent class.
+     */
+    public OutboxEvent() {
+    }
+
+    /**
+     * Getter and setter methods for id.
+     */
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Getter and setter methods for aggregateType.
+     */
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public void setAggregateType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    /**
+     * Getter and setter methods for aggregateId.
+     */
+    public int getAggregateId() {
+        return aggregateId;
+    }
+
+    public void setAggregateId(int aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    /**
+     * Getter and setter methods for eventType.
+     */
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    /**
+     * Getter and setter methods for payload.
+     */
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    /**
+     * Getter and setter methods for createdAt.
+     */
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Getter and setter methods for availableAt.
+     */
+    public LocalDateTime getAvailableAt() {
+        return availableAt;
+    }
+
+    public void setAvailableAt(LocalDateTime availableAt) {
+        this.availableAt = availableAt;
+    }
+
+    /**
+     * Getter and setter methods for attempts.
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+}
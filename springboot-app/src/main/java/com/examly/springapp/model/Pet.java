@@ -2,13 +2,19 @@ package com.examly.springapp.model;
 
 import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Past;
@@ -18,6 +24,8 @@ import jakarta.validation.constraints.Size;
  * Entity annotation indicates that this class is mapped to a database table.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pet")
 public class Pet {
 
     /**
@@ -30,6 +38,14 @@ public class Pet {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int petId;
 
+    /**
+     * Optimistic lock version, incremented on every update and exposed as the
+     * ETag of the pet. Set by the server only.
+     */
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int version;
+
     /**
      * Fields representing pet information.
      */
@@ -167,4 +183,15 @@ public class Pet {
     public void setStatus(String status) {
         this.status = status;
     }
-}
\ No newline at end of file
+
+    /**
+     * Getter and setter methods for version.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+}
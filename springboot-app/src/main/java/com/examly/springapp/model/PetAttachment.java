@@ -0,0 +1,133 @@
+package com.examly.springapp.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+
+/**
+ * Entity annotation indicates that this class is mapped to a database table.
+ * Holds the metadata of a file attached to a pet; the content is stored on
+ * disk under its SHA-256 hash by AttachmentBlobStore.
+ */
+@Entity
+public class PetAttachment {
+
+    /**
+     * Primary key for the PetAttachment entity.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int attachmentId;
+
+    /**
+     * Many-to-one relationship with Pet entity, loaded only when accessed.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "petId", nullable = false)
+    private Pet pet;
+
+    private String fileName;
+
+    @Column(length = 100)
+    private String contentType;
+
+    private long sizeBytes;
+
+    /**
+     * The hex SHA-256 of the content, naming its blob on disk.
+     */
+    @Column(length = 64)
+    private String sha256;
+
+    private LocalDateTime createdAt;
+
+    /**
+     * Default constructor for PetAttachment class.
+     */
+    public PetAttachment() {
+    }
+
+    /**
+     * Getter and setter methods for attachmentId.
+     */
+    public int getAttachmentId() {
+        return attachmentId;
+    }
+
+    public void setAttachmentId(int attachmentId) {
+        this.attachmentId = attachmentId;
+    }
+
+    /**
+     * Getter and setter methods for pet.
+     */
+    public Pet getPet() {
+        return pet;
+    }
+
+    public void setPet(Pet pet) {
+        this.pet = pet;
+    }
+
+    /**
+     * Getter and setter methods for fileName.
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * Getter and setter methods for contentType.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    /**
+     * Getter and setter methods for sizeBytes.
+     */
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    /**
+     * Getter and setter methods for sha256.
+     */
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    /**
+     * Getter and setter methods for createdAt.
+     */
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
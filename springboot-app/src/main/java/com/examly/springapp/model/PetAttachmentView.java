@@ -0,0 +1,18 @@
+package com.examly.springapp.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a pet attachment, without loading the pet.
+ *
+ * @param attachmentId The ID of the attachment.
+ * @param petId        The ID of the pet the file is attached to.
+ * @param fileName     The name of the uploaded file.
+ * @param contentType  The media type of the file.
+ * @param sizeBytes    The length of the file in bytes.
+ * @param sha256       The hex SHA-256 of the content, also its ETag.
+ * @param createdAt    When the file was uploaded.
+ */
+public record PetAttachmentView(int attachmentId, int petId, String fileName, String contentType, long sizeBytes,
+        String sha256, LocalDateTime createdAt) {
+}
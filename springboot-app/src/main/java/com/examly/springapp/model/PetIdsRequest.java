@@ -0,0 +1,11 @@
+package com.examly.springapp.model;
+
+import java.util.List;
+
+/**
+ * Request body of a lookup of several pets.
+ *
+ * @param petIds The IDs of the pets to get.
+ */
+public record PetIdsRequest(List<Integer> petIds) {
+}
@@ -0,0 +1,11 @@
+package com.examly.springapp.model;
+
+/**
+ * A rejected row of a pet import.
+ *
+ * @param row     The 1-based number of the data row, not counting a CSV
+ *                header.
+ * @param message Why the row was rejected.
+ */
+public record PetImportError(long row, String message) {
+}
@@ -0,0 +1,24 @@
+package com.examly.springapp.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress and outcome of a pet import.
+ *
+ * @param jobId      The ID of the import.
+ * @param format     The upload format, csv or ndjson.
+ * @param status     PENDING until data is uploaded, then RUNNING, COMPLETED or
+ *                   FAILED.
+ * @param rowsRead   The number of data rows read so far.
+ * @param imported   The number of pets created so far.
+ * @param rejected   The number of rows rejected so far.
+ * @param errors     The first rejected rows with their reasons.
+ * @param failure    Why the import stopped, when FAILED.
+ * @param createdAt  When the import was created.
+ * @param finishedAt When the import completed or failed.
+ */
+public record PetImportJob(String jobId, String format, String status, long rowsRead, long imported,
+        long rejected, List<PetImportError> errors, String failure, LocalDateTime createdAt,
+        LocalDateTime finishedAt) {
+}
@@ -0,0 +1,15 @@
+package com.examly.springapp.model;
+
+/**
+ * One pet of an import file, as read from a CSV line or an NDJSON object.
+ *
+ * @param name        The name of the pet.
+ * @param species     The species of the pet.
+ * @param breed       The breed of the pet.
+ * @param dateOfBirth The date of birth, as yyyy-MM-dd or an ISO date-time.
+ * @param status      The health status of the pet, healthy when empty.
+ * @param ownerEmail  The email of the owning user.
+ */
+public record PetImportRow(String name, String species, String breed, String dateOfBirth, String status,
+        String ownerEmail) {
+}
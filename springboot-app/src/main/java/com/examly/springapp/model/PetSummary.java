@@ -0,0 +1,12 @@
+package com.examly.springapp.model;
+
+/**
+ * Read-only projection of a pet embedded in other responses.
+ *
+ * @param petId   The ID of the pet.
+ * @param name    The name of the pet.
+ * @param species The species of the pet.
+ * @param breed   The breed of the pet.
+ */
+public record PetSummary(int petId, String name, String species, String breed) {
+}
@@ -0,0 +1,30 @@
+package com.examly.springapp.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a pet for listings. Selected column by column, so
+ * the owning user is not loaded.
+ *
+ * @param petId       The ID of the pet.
+ * @param name        The name of the pet.
+ * @param species     The species of the pet.
+ * @param breed       The breed of the pet.
+ * @param dateOfBirth The date of birth of the pet.
+ * @param status      The status of the pet.
+ * @param userId      The ID of the owning user.
+ */
+public record PetView(int petId, String name, String species, String breed, LocalDateTime dateOfBirth,
+        String status, int userId) {
+
+    /**
+     * Returns the projection of a loaded pet.
+     *
+     * @param pet The pet, with its user set
+     * @return the pet's columns
+     */
+    public static PetView of(Pet pet) {
+        return new PetView(pet.getPetId(), pet.getName(), pet.getSpecies(), pet.getBreed(), pet.getDateOfBirth(),
+                pet.getStatus(), pet.getUser().getUserId());
+    }
+}
@@ -0,0 +1,12 @@
+package com.examly.springapp.model;
+
+import java.time.Duration;
+
+/**
+ * A reminder that became due.
+ *
+ * @param target The appointment the reminder is for.
+ * @param lead   How long before the appointment the reminder is sent.
+ */
+public record Reminder(ReminderTarget target, Duration lead) {
+}
@@ -0,0 +1,17 @@
+package com.examly.springapp.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Approved appointment reminders are sent for, with the details a sender
+ * needs to address the owner.
+ *
+ * @param appointmentId   The ID of the appointment.
+ * @param appointmentDate The date and time of the appointment.
+ * @param userId          The ID of the user who booked the appointment.
+ * @param email           The email of the user.
+ * @param petName         The name of the pet.
+ */
+public record ReminderTarget(int appointmentId, LocalDateTime appointmentDate, int userId, String email,
+        String petName) {
+}
@@ -0,0 +1,12 @@
+package com.examly.springapp.model;
+
+/**
+ * Read-only projection of a user embedded in other responses. Carries only
+ * the public fields, never the password hash, mobile number or role.
+ *
+ * @param userId   The ID of the user.
+ * @param username The username of the user.
+ * @param email    The email of the user.
+ */
+public record UserSummary(int userId, String username, String email) {
+}
@@ -0,0 +1,120 @@
+package com.examly.springapp.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.examly.springapp.model.AppointmentCapacity;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+/**
+ * Repository interface for the per-day appointment capacity ledger.
+ * Extends JpaRepository to provide basic CRUD operations.
+ */
+@Repository
+public interface AppointmentCapacityRepo extends JpaRepository<AppointmentCapacity, LocalDate> {
+
+    // Table written by the native statements below. Declaring it keeps
+    // Hibernate from treating them as touching every table and evicting all
+    // second-level cache regions and cached queries on each booking.
+    String CAPACITY_SPACE = "appointment_capacity";
+
+    /**
+     * Creates the ledger row of a day if it does not exist yet, seeded with the
+     * appointments already booked on that day. Concurrent callers on other
+     * nodes are resolved by the primary key.
+     *
+     * @param day   the day of the ledger row
+     * @param start the start of the day
+     * @param end   the start of the next day
+     * @return 1 if the row was created, 0 if it already existed
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = CAPACITY_SPACE))
+    @Query(value = "INSERT IGNORE INTO appointment_capacity (capacity_date, booked_count) "
+            + "SELECT :day, COUNT(*) FROM appointment WHERE appointment_date >= :start AND appointment_date < :end",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("day") LocalDate day, @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    /**
+     * Atomically books one appointment on the day if it is below the limit.
+     *
+     * @param day the day to book
+     * @param max the maximum number of appointments per day
+     * @return 1 if a slot was reserved, 0 if the day is full
+     */
+    @Modifying
+    @Query("UPDATE AppointmentCapacity c SET c.bookedCount = c.bookedCount + 1 "
+            + "WHERE c.capacityDate = :day AND c.bookedCount < :max")
+    int tryReserve(@Param("day") LocalDate day, @Param("max") int max);
+
+    /**
+     * Reads the ledger row of a day and locks it until the transaction ends, for
+     * reserving several appointments at once.
+     *
+     * @param day the day of the ledger row
+     * @return the locked row, or empty if the day has no row yet
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM AppointmentCapacity c WHERE c.capacityDate = :day")
+    Optional<AppointmentCapacity> findForUpdate(@Param("day") LocalDate day);
+
+    /**
+     * Gives back booked appointments of a day.
+     *
+     * @param day   the day to release
+     * @param count the number of appointments to release
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE AppointmentCapacity c SET c.bookedCount = "
+            + "CASE WHEN c.bookedCount > :count THEN c.bookedCount - :count ELSE 0 END "
+            + "WHERE c.capacityDate = :day")
+    int release(@Param("day") LocalDate day, @Param("count") int count);
+
+    // Takes the appointments about to be removed off every day they were
+    // booked on, in one statement. Written as a correlated subquery rather
+    // than MySQL's UPDATE ... JOIN so that it also runs on the H2 test schema.
+    String RELEASE_SET = "UPDATE appointment_capacity c SET c.booked_count = GREATEST(c.booked_count - "
+            + "(SELECT COUNT(*) FROM appointment a WHERE CAST(a.appointment_date AS DATE) = c.capacity_date AND (";
+    String RELEASE_WHERE = ")), 0) WHERE c.capacity_date IN "
+            + "(SELECT CAST(a.appointment_date AS DATE) FROM appointment a WHERE ";
+    String PET_APPOINTMENTS = "a.pet_id = :petId";
+    String USER_APPOINTMENTS = "a.user_id = :userId "
+            + "OR a.pet_id IN (SELECT p.pet_id FROM pet p WHERE p.user_id = :userId)";
+
+    /**
+     * Gives back the bookings of every appointment of a pet.
+     *
+     * @param petId the ID of the pet
+     * @return the number of updated ledger rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = CAPACITY_SPACE))
+    @Query(value = RELEASE_SET + PET_APPOINTMENTS + RELEASE_WHERE + PET_APPOINTMENTS + ")", nativeQuery = true)
+    int releaseAllForPet(@Param("petId") int petId);
+
+    /**
+     * Gives back the bookings of every appointment booked by a user or for one
+     * of the user's pets.
+     *
+     * @param userId the ID of the user
+     * @return the number of updated ledger rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = CAPACITY_SPACE))
+    @Query(value = RELEASE_SET + USER_APPOINTMENTS + RELEASE_WHERE + USER_APPOINTMENTS + ")", nativeQuery = true)
+    int releaseAllForUser(@Param("userId") int userId);
+}
@@ -1,28 +1,172 @@
 package com.examly.springapp.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.AvailableHints;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.examly.springapp.model.Appointment;
+import com.examly.springapp.model.AppointmentRef;
+import com.examly.springapp.model.AppointmentView;
+import com.examly.springapp.model.ReminderTarget;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository interface for Appointment entity.
- * Extends JpaRepository to provide basic CRUD operations.
+ * Extends JpaRepository to provide basic CRUD operations, and
+ * AppointmentSearchRepo for specification-based searches.
  */
-public interface AppointmentRepo extends JpaRepository<Appointment, Integer> {
+public interface AppointmentRepo extends JpaRepository<Appointment, Integer>, AppointmentSearchRepo {
 
     // Custom query to retrieve all appointments associated with a specific user ID
     List<Appointment> findByUser_UserId(int userId);
 
-    List<Appointment> findByPetPetId(int petId);
+    // Appointments removed together with a pet or a user
+    String REF_SELECT = "SELECT new com.examly.springapp.model.AppointmentRef(a.appointmentId, a.appointmentDate, "
+            + "a.status, a.user.userId, a.pet.petId) FROM Appointment a ";
+
+    @Query(REF_SELECT + "WHERE a.pet.petId = :petId")
+    List<AppointmentRef> findRefsByPetId(@Param("petId") int petId);
+
+    @Query(REF_SELECT + "WHERE a.user.userId = :userId "
+            + "OR a.pet.petId IN (SELECT p.petId FROM Pet p WHERE p.user.userId = :userId)")
+    List<AppointmentRef> findRefsByUserId(@Param("userId") int userId);
+
+    /**
+     * Deletes the appointments of a pet in one statement.
+     *
+     * @param petId the ID of the pet
+     * @return the number of deleted appointments
+     */
+    @Modifying
+    @Query("DELETE FROM Appointment a WHERE a.pet.petId = :petId")
+    int deleteAllByPetId(@Param("petId") int petId);
+
+    /**
+     * Deletes the appointments booked by a user or for one of the user's pets
+     * in one statement.
+     *
+     * @param userId the ID of the user
+     * @return the number of deleted appointments
+     */
+    @Modifying
+    @Query("DELETE FROM Appointment a WHERE a.user.userId = :userId "
+            + "OR a.pet.petId IN (SELECT p.petId FROM Pet p WHERE p.user.userId = :userId)")
+    int deleteAllByUserId(@Param("userId") int userId);
 
     @Query("SELECT a FROM Appointment a JOIN FETCH a.pet")
     List<Appointment> findAllWithPet();
 
+    // Column-by-column projection used by the listings, no entity hydration
+    String VIEW_SELECT = "SELECT new com.examly.springapp.model.AppointmentView(a.appointmentId, a.appointmentDate, "
+            + "a.reason, a.status, u.userId, u.username, u.email, p.petId, p.name, p.species, p.breed) "
+            + "FROM Appointment a JOIN a.user u JOIN a.pet p ";
+
+    @Query(VIEW_SELECT + "ORDER BY a.appointmentDate, a.appointmentId")
+    List<AppointmentView> findAllViews();
+
+    @Query(VIEW_SELECT + "WHERE u.userId = :userId ORDER BY a.appointmentDate, a.appointmentId")
+    List<AppointmentView> findViewsByUserId(@Param("userId") int userId);
+
+    // Keyset pagination ordered by (appointmentDate, appointmentId)
+    @Query(VIEW_SELECT + "ORDER BY a.appointmentDate, a.appointmentId")
+    List<AppointmentView> findFirstPage(Pageable pageable);
+
+    @Query(VIEW_SELECT + "WHERE a.appointmentDate > :date OR (a.appointmentDate = :date AND a.appointmentId > :id) "
+            + "ORDER BY a.appointmentDate, a.appointmentId")
+    List<AppointmentView> findPageAfter(@Param("date") LocalDateTime date, @Param("id") int id, Pageable pageable);
+
+    @Query(VIEW_SELECT + "WHERE u.userId = :userId ORDER BY a.appointmentDate, a.appointmentId")
+    List<AppointmentView> findFirstPageByUserId(@Param("userId") int userId, Pageable pageable);
+
+    @Query(VIEW_SELECT + "WHERE u.userId = :userId "
+            + "AND (a.appointmentDate > :date OR (a.appointmentDate = :date AND a.appointmentId > :id)) "
+            + "ORDER BY a.appointmentDate, a.appointmentId")
+    List<AppointmentView> findPageByUserIdAfter(@Param("userId") int userId, @Param("date") LocalDateTime date,
+            @Param("id") int id, Pageable pageable);
+
+    // Forward-only stream for exports; the MySQL driver streams rows one by one
+    // when the fetch size is Integer.MIN_VALUE
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.user JOIN FETCH a.pet ORDER BY a.appointmentId")
+    Stream<Appointment> streamAllForExport();
+
     // Custom query to count appointments within a specific time range
     int countByAppointmentDateBetween(LocalDateTime startDateTime, LocalDateTime endDateTime);
 
-}
\ No newline at end of file
+    // Custom query to retrieve only the booked times within [start, end)
+    @Query("SELECT a.appointmentDate FROM Appointment a WHERE a.appointmentDate >= :start AND a.appointmentDate < :end")
+    List<LocalDateTime> findAppointmentDatesBetween(@Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    // Number of appointments per day within [start, end), days without
+    // appointments are absent
+    @Query(value = "SELECT DATE(appointment_date) AS day, COUNT(*) AS booked FROM appointment "
+            + "WHERE appointment_date >= :start AND appointment_date < :end GROUP BY DATE(appointment_date)",
+            nativeQuery = true)
+    List<Object[]> countPerDayBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // Compare-and-set status change: only applied while the appointment is in
+    // one of the expected statuses; bumps the version so ETags change
+    @Modifying
+    @Query("UPDATE Appointment a SET a.status = :status, a.version = a.version + 1 "
+            + "WHERE a.appointmentId = :id AND a.status IN :expected")
+    int updateStatus(@Param("id") int id, @Param("status") String status,
+            @Param("expected") Collection<String> expected);
+
+    @Modifying
+    @Query("UPDATE Appointment a SET a.status = :status, a.version = a.version + 1 "
+            + "WHERE a.appointmentId IN :ids AND a.status IN :expected")
+    int updateStatuses(@Param("ids") Collection<Integer> ids, @Param("status") String status,
+            @Param("expected") Collection<String> expected);
+
+    @Query("SELECT a.status FROM Appointment a WHERE a.appointmentId = :id")
+    Optional<String> findStatusById(@Param("id") int id);
+
+    // Per-status counts of the given appointments that are in one of the
+    // statuses, read before a status change
+    @Query("SELECT a.status, COUNT(a) FROM Appointment a WHERE a.appointmentId IN :ids AND a.status IN :statuses "
+            + "GROUP BY a.status")
+    List<Object[]> countByIdsAndStatuses(@Param("ids") Collection<Integer> ids,
+            @Param("statuses") Collection<String> statuses);
+
+    // The given appointments that are in one of the statuses, as (ID, status)
+    // rows locked until the transaction ends, read before a bulk status change
+    @Query(value = "SELECT appointment_id, status FROM appointment "
+            + "WHERE appointment_id IN :ids AND status IN :statuses FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockStatusesByIds(@Param("ids") Collection<Integer> ids,
+            @Param("statuses") Collection<String> statuses);
+
+    @Query("SELECT a.status, COUNT(a) FROM Appointment a GROUP BY a.status")
+    List<Object[]> countByStatus();
+
+    @Query("SELECT a.appointmentId FROM Appointment a WHERE a.appointmentId IN :ids AND a.status = :status")
+    List<Integer> findIdsWithStatus(@Param("ids") Collection<Integer> ids, @Param("status") String status);
+
+    // Approved appointments reminders are scheduled for
+    String REMINDER_SELECT = "SELECT new com.examly.springapp.model.ReminderTarget(a.appointmentId, "
+            + "a.appointmentDate, u.userId, u.email, p.name) FROM Appointment a JOIN a.user u JOIN a.pet p "
+            + "WHERE a.status = 'APPROVED' ";
+
+    @Query(REMINDER_SELECT + "AND a.appointmentDate >= :start AND a.appointmentDate < :end")
+    List<ReminderTarget> findReminderTargetsBetween(@Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    @Query(REMINDER_SELECT + "AND a.appointmentId IN :ids")
+    List<ReminderTarget> findReminderTargetsByIds(@Param("ids") Collection<Integer> ids);
+}
@@ -0,0 +1,25 @@
+package com.examly.springapp.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.examly.springapp.model.Appointment;
+import com.examly.springapp.model.AppointmentView;
+
+/**
+ * Custom repository fragment of AppointmentRepo for specification-based
+ * searches that return projections.
+ */
+public interface AppointmentSearchRepo {
+
+    /**
+     * Finds the appointments matching a specification as projections, ordered
+     * by date and ID.
+     *
+     * @param spec  The filter
+     * @param limit The maximum number of rows
+     * @return the matching appointments
+     */
+    List<AppointmentView> findViews(Specification<Appointment> spec, int limit);
+}
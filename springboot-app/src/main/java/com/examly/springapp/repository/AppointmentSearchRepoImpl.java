@@ -0,0 +1,46 @@
+package com.examly.springapp.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.examly.springapp.model.Appointment;
+import com.examly.springapp.model.AppointmentView;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Criteria implementation of AppointmentSearchRepo. Selects the view columns
+ * only, like AppointmentRepo.VIEW_SELECT, so no entity is hydrated.
+ */
+public class AppointmentSearchRepoImpl implements AppointmentSearchRepo {
+
+    private final EntityManager entityManager;
+
+    public AppointmentSearchRepoImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<AppointmentView> findViews(Specification<Appointment> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AppointmentView> query = cb.createQuery(AppointmentView.class);
+        Root<Appointment> root = query.from(Appointment.class);
+        Path<Object> user = root.get("user");
+        Path<Object> pet = root.get("pet");
+        query.select(cb.construct(AppointmentView.class, root.get("appointmentId"), root.get("appointmentDate"),
+                root.get("reason"), root.get("status"), user.get("userId"), user.get("username"), user.get("email"),
+                pet.get("petId"), pet.get("name"), pet.get("species"), pet.get("breed")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("appointmentDate")), cb.asc(root.get("appointmentId")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
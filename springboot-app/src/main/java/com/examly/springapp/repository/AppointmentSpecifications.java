@@ -0,0 +1,82 @@
+package com.examly.springapp.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.examly.springapp.model.Appointment;
+import com.examly.springapp.model.AppointmentSearchCriteria;
+
+/**
+ * Specifications for filtering appointments. Each filter maps to a column
+ * covered by an index of migration V4.
+ */
+public final class AppointmentSpecifications {
+
+    private AppointmentSpecifications() {
+    }
+
+    /**
+     * Combines the filters of a search; null criteria fields are skipped.
+     *
+     * @param criteria The search filters
+     * @return the combined specification
+     */
+    public static Specification<Appointment> matching(AppointmentSearchCriteria criteria) {
+        Specification<Appointment> spec = Specification.where(null);
+        if (criteria.status() != null) {
+            spec = spec.and(hasStatus(criteria.status()));
+        }
+        if (criteria.from() != null) {
+            spec = spec.and(onOrAfter(criteria.from()));
+        }
+        if (criteria.to() != null) {
+            spec = spec.and(before(criteria.to()));
+        }
+        if (criteria.userId() != null) {
+            spec = spec.and(bookedBy(criteria.userId()));
+        }
+        if (criteria.species() != null && !criteria.species().isBlank()) {
+            spec = spec.and(forSpecies(criteria.species().trim()));
+        }
+        if (criteria.reason() != null && !criteria.reason().isBlank()) {
+            spec = spec.and(reasonContains(criteria.reason().trim()));
+        }
+        return spec;
+    }
+
+    public static Specification<Appointment> hasStatus(String status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Appointment> onOrAfter(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("appointmentDate"), from);
+    }
+
+    public static Specification<Appointment> before(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("appointmentDate"), to);
+    }
+
+    public static Specification<Appointment> bookedBy(int userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("userId"), userId);
+    }
+
+    public static Specification<Appointment> forSpecies(String species) {
+        return (root, query, cb) -> cb.equal(root.get("pet").get("species"), species);
+    }
+
+    // A leading-wildcard LIKE scans the rows left by the other filters whatever
+    // the casing; lower() is left out only because the column collation is
+    // already case-insensitive
+    public static Specification<Appointment> reasonContains(String text) {
+        String escaped = text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return (root, query, cb) -> cb.like(root.get("reason"), "%" + escaped + "%", '\\');
+    }
+
+    // Keyset condition: rows after (date, id) in (appointmentDate, appointmentId)
+    // order
+    public static Specification<Appointment> after(LocalDateTime date, int id) {
+        return (root, query, cb) -> cb.or(cb.greaterThan(root.get("appointmentDate"), date),
+                cb.and(cb.equal(root.get("appointmentDate"), date), cb.greaterThan(root.get("appointmentId"), id)));
+    }
+}
@@ -3,9 +3,13 @@ package com.examly.springapp.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.examly.springapp.model.Feedback;
+import com.examly.springapp.model.FeedbackRef;
+import com.examly.springapp.model.FeedbackView;
 
 /**
  * Repository interface for Feedback entity.
@@ -22,5 +26,59 @@ public interface FeedbackRepo extends JpaRepository<Feedback, Integer> {
     @Query("SELECT f FROM Feedback f WHERE f.user.userId = :userId")
     List<Feedback> findByUser(int userId);
 
-    void deleteByAppointmentAppointmentId(int appointmentId);
+    // Column-by-column projection used by the listings, no entity hydration
+    String VIEW_SELECT = "SELECT new com.examly.springapp.model.FeedbackView(f.feedbackId, f.message, f.rating, "
+            + "u.userId, u.username, u.email, a.appointmentId, a.appointmentDate, a.status, "
+            + "p.petId, p.name, p.species, p.breed) "
+            + "FROM Feedback f JOIN f.user u JOIN f.appointment a JOIN a.pet p ";
+
+    @Query(VIEW_SELECT)
+    List<FeedbackView> findAllViews();
+
+    /**
+     * Retrieves the feedback entries of a user as projections.
+     *
+     * @param userId the ID of the user whose feedback entries are to be retrieved.
+     * @return the feedback entries of the user.
+     */
+    @Query(VIEW_SELECT + "WHERE u.userId = :userId")
+    List<FeedbackView> findViewsByUserId(@Param("userId") int userId);
+
+    // Feedback removed together with a pet or a user, matching the deletes
+    // below
+    String REF_SELECT = "SELECT new com.examly.springapp.model.FeedbackRef(f.feedbackId, "
+            + "f.appointment.appointmentId, f.user.userId, f.rating) FROM Feedback f ";
+
+    @Query(REF_SELECT + "WHERE f.appointment.appointmentId IN "
+            + "(SELECT a.appointmentId FROM Appointment a WHERE a.pet.petId = :petId)")
+    List<FeedbackRef> findRefsByPetId(@Param("petId") int petId);
+
+    @Query(REF_SELECT + "WHERE f.user.userId = :userId OR f.appointment.appointmentId IN "
+            + "(SELECT a.appointmentId FROM Appointment a WHERE a.user.userId = :userId "
+            + "OR a.pet.petId IN (SELECT p.petId FROM Pet p WHERE p.user.userId = :userId))")
+    List<FeedbackRef> findRefsByUserId(@Param("userId") int userId);
+
+    /**
+     * Deletes the feedback on the appointments of a pet in one statement.
+     *
+     * @param petId the ID of the pet
+     * @return the number of deleted feedback entries
+     */
+    @Modifying
+    @Query("DELETE FROM Feedback f WHERE f.appointment.appointmentId IN "
+            + "(SELECT a.appointmentId FROM Appointment a WHERE a.pet.petId = :petId)")
+    int deleteAllByPetId(@Param("petId") int petId);
+
+    /**
+     * Deletes the feedback written by a user or left on an appointment that is
+     * removed with the user, in one statement.
+     *
+     * @param userId the ID of the user
+     * @return the number of deleted feedback entries
+     */
+    @Modifying
+    @Query("DELETE FROM Feedback f WHERE f.user.userId = :userId OR f.appointment.appointmentId IN "
+            + "(SELECT a.appointmentId FROM Appointment a WHERE a.user.userId = :userId "
+            + "OR a.pet.petId IN (SELECT p.petId FROM Pet p WHERE p.user.userId = :userId))")
+    int deleteAllByUserId(@Param("userId") int userId);
 }
\ No newline at end of file
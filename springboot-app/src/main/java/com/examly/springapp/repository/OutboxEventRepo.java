@@ -0,0 +1,40 @@
+package com.examly.springapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.examly.springapp.model.OutboxEvent;
+
+/**
+ * Repository interface for the outbox of domain events.
+ * Extends JpaRepository to provide basic CRUD operations.
+ */
+@Repository
+public interface OutboxEventRepo extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the next deliverable events until the transaction ends. Rows locked
+     * by a relay on another node are skipped rather than waited for.
+     *
+     * @param now         the current time
+     * @param maxAttempts the number of failed attempts after which an event is
+     *                    left for inspection
+     * @param limit       the maximum number of events
+     * @return the events, in publication order
+     */
+    @Query(value = "SELECT * FROM outbox_event WHERE available_at <= :now AND attempts < :maxAttempts "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts,
+            @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,97 @@
+package com.examly.springapp.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.examly.springapp.model.PetAttachment;
+import com.examly.springapp.model.PetAttachmentView;
+
+/**
+ * Repository interface for PetAttachment entity.
+ * Extends JpaRepository to provide basic CRUD operations.
+ */
+@Repository
+public interface PetAttachmentRepo extends JpaRepository<PetAttachment, Integer> {
+
+    String VIEW_SELECT = "SELECT new com.examly.springapp.model.PetAttachmentView(a.attachmentId, a.pet.petId, "
+            + "a.fileName, a.contentType, a.sizeBytes, a.sha256, a.createdAt) FROM PetAttachment a ";
+
+    /**
+     * Retrieves the attachments of a pet, oldest first.
+     *
+     * @param petId the ID of the pet
+     * @return the attachments of the pet
+     */
+    @Query(VIEW_SELECT + "WHERE a.pet.petId = :petId ORDER BY a.attachmentId")
+    List<PetAttachmentView> findViewsByPetId(@Param("petId") int petId);
+
+    /**
+     * Retrieves one attachment of a pet.
+     *
+     * @param petId        the ID of the pet
+     * @param attachmentId the ID of the attachment
+     * @return the attachment, or empty if the pet has no such attachment
+     */
+    @Query(VIEW_SELECT + "WHERE a.pet.petId = :petId AND a.attachmentId = :attachmentId")
+    Optional<PetAttachmentView> findView(@Param("petId") int petId, @Param("attachmentId") int attachmentId);
+
+    /**
+     * Returns the blob hashes of the attachments of a pet.
+     *
+     * @param petId the ID of the pet
+     * @return the distinct hashes
+     */
+    @Query("SELECT DISTINCT a.sha256 FROM PetAttachment a WHERE a.pet.petId = :petId")
+    List<String> findSha256ByPetId(@Param("petId") int petId);
+
+    /**
+     * Returns the blob hashes of the attachments of a user's pets.
+     *
+     * @param userId the ID of the user
+     * @return the distinct hashes
+     */
+    @Query("SELECT DISTINCT a.sha256 FROM PetAttachment a WHERE a.pet.petId IN "
+            + "(SELECT p.petId FROM Pet p WHERE p.user.userId = :userId)")
+    List<String> findSha256ByUserId(@Param("userId") int userId);
+
+    /**
+     * Returns which of the given blob hashes are still referenced.
+     *
+     * @param hashes the hashes to check
+     * @return the hashes with at least one attachment
+     */
+    @Query("SELECT DISTINCT a.sha256 FROM PetAttachment a WHERE a.sha256 IN :hashes")
+    List<String> findReferencedSha256(@Param("hashes") Collection<String> hashes);
+
+    @Modifying
+    @Query("DELETE FROM PetAttachment a WHERE a.attachmentId = :attachmentId")
+    int deleteAttachment(@Param("attachmentId") int attachmentId);
+
+    /**
+     * Deletes the attachments of a pet in one statement.
+     *
+     * @param petId the ID of the pet
+     * @return the number of deleted attachments
+     */
+    @Modifying
+    @Query("DELETE FROM PetAttachment a WHERE a.pet.petId = :petId")
+    int deleteAllByPetId(@Param("petId") int petId);
+
+    /**
+     * Deletes the attachments of a user's pets in one statement.
+     *
+     * @param userId the ID of the user
+     * @return the number of deleted attachments
+     */
+    @Modifying
+    @Query("DELETE FROM PetAttachment a WHERE a.pet.petId IN "
+            + "(SELECT p.petId FROM Pet p WHERE p.user.userId = :userId)")
+    int deleteAllByUserId(@Param("userId") int userId);
+}
@@ -1,12 +1,16 @@
 package com.examly.springapp.repository;
 
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.examly.springapp.model.Pet;
+import com.examly.springapp.model.PetView;
 
 /**
  * Repository interface for Pet entity.
@@ -25,8 +29,67 @@ public interface PetRepo extends JpaRepository<Pet, Integer> {
     @Query(value = "select * from pet where user_id = ?1", nativeQuery = true)
     List<Pet> findAllPetsByUserId(int userId);
 
+    /**
+     * Retrieves the pets of a user as projections, without loading the user.
+     *
+     * @param userId the ID of the user whose pets are to be retrieved.
+     * @return the pets of the user.
+     */
+    @Query("SELECT new com.examly.springapp.model.PetView(p.petId, p.name, p.species, p.breed, p.dateOfBirth, "
+            + "p.status, p.user.userId) FROM Pet p WHERE p.user.userId = :userId")
+    List<PetView> findPetViewsByUserId(@Param("userId") int userId);
+
+    /**
+     * Retrieves the pets with the given IDs as projections.
+     *
+     * @param petIds The IDs to look up
+     * @return the existing pets, in no particular order
+     */
+    @Query("SELECT new com.examly.springapp.model.PetView(p.petId, p.name, p.species, p.breed, p.dateOfBirth, "
+            + "p.status, p.user.userId) FROM Pet p WHERE p.petId IN :petIds")
+    List<PetView> findPetViewsByIds(@Param("petIds") Collection<Integer> petIds);
+
+    /**
+     * Retrieves the pets following an ID as projections, for walking the whole
+     * table in ID order.
+     *
+     * @param petId    The last ID already read, 0 to start
+     * @param pageable The number of pets to read
+     * @return the next pets, by ascending ID
+     */
+    @Query("SELECT new com.examly.springapp.model.PetView(p.petId, p.name, p.species, p.breed, p.dateOfBirth, "
+            + "p.status, p.user.userId) FROM Pet p WHERE p.petId > :petId ORDER BY p.petId")
+    List<PetView> findPetViewsAfter(@Param("petId") int petId, Pageable pageable);
+
     @Query("SELECT p FROM Pet p WHERE p.petId IN :petIds")
     List<Pet> findPetsByIds(@Param("petIds") List<Integer> petIds);
 
     void deleteByPetId(int petId);
-}
\ No newline at end of file
+
+    @Modifying
+    @Query("DELETE FROM Pet p WHERE p.petId = :petId")
+    int deletePet(@Param("petId") int petId);
+
+    @Modifying
+    @Query("DELETE FROM Pet p WHERE p.user.userId = :userId")
+    int deleteAllByUserId(@Param("userId") int userId);
+
+    /**
+     * Finds which of the given IDs belong to existing pets, in one query.
+     *
+     * @param petIds The IDs to look up
+     * @return the IDs that exist
+     */
+    @Query("SELECT p.petId FROM Pet p WHERE p.petId IN :petIds")
+    List<Integer> findExistingIds(@Param("petIds") Collection<Integer> petIds);
+
+    // Rollups the dashboard counters are reconciled against
+    @Query("SELECT p.species, COUNT(p) FROM Pet p GROUP BY p.species")
+    List<Object[]> countBySpecies();
+
+    @Query("SELECT p.breed, COUNT(p) FROM Pet p GROUP BY p.breed")
+    List<Object[]> countByBreed();
+
+    @Query("SELECT p.status, COUNT(p) FROM Pet p GROUP BY p.status")
+    List<Object[]> countByStatus();
+}
@@ -1,13 +1,22 @@
 package com.examly.springapp.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.AvailableHints;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.examly.springapp.model.User;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository interface for managing `User` entity operations.
  *
@@ -21,8 +30,10 @@ public interface UserRepo extends JpaRepository<User, Integer> {
      * 
      * @param email The email of the user to be found
      * @return An Optional containing the found user, or an empty Optional if no
-     *         user is found
+     *         user is found; served from the query cache until the user
+     *         table changes
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 
     /**
@@ -43,4 +54,25 @@ public interface UserRepo extends JpaRepository<User, Integer> {
     @Query("SELECT u.username FROM User u WHERE u.email = ?1")
     String findNameByEmail(String email);
 
-}
\ No newline at end of file
+    /**
+     * Finds which of the given IDs belong to existing users, in one query.
+     *
+     * @param userIds The IDs to look up
+     * @return the IDs that exist
+     */
+    @Query("SELECT u.userId FROM User u WHERE u.userId IN :userIds")
+    List<Integer> findExistingIds(@Param("userIds") Collection<Integer> userIds);
+
+    /**
+     * Resolves emails to user IDs in one query.
+     *
+     * @param emails The emails to look up
+     * @return email and user ID pairs of the existing users
+     */
+    @Query("SELECT u.email, u.userId FROM User u WHERE u.email IN :emails")
+    List<Object[]> findIdsByEmails(@Param("emails") Collection<String> emails);
+
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.userId = :userId")
+    int deleteUser(@Param("userId") int userId);
+}
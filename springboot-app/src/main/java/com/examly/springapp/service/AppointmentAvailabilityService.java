@@ -0,0 +1,216 @@
+package com.examly.springapp.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.examly.springapp.config.ExpiringCache;
+import com.examly.springapp.repository.AppointmentRepo;
+
+/**
+ * Answers "which appointment slots are free" without trial bookings.
+ *
+ * Each day between the opening and closing time is split into fixed-length
+ * slots, kept as a BitSet of occupied slots plus the number of appointments on
+ * the day. Days are loaded from AppointmentRepo on first use, in batches, and
+ * reloaded after a TTL so writes from other nodes show up. At most
+ * cache-max-days days are kept, whatever ranges are asked for. Writes on this
+ * node are applied once their transaction commits.
+ */
+@Service
+public class AppointmentAvailabilityService {
+
+    // Number of days fetched from the database in one query
+    private static final int LOAD_BATCH_DAYS = 14;
+
+    private final AppointmentRepo appointmentRepo;
+    private final AppointmentCapacityService appointmentCapacityService;
+    private final LocalTime openingTime;
+    private final int slotMinutes;
+    private final int slotsPerDay;
+    private final int maxSearchDays;
+    private final ExpiringCache<LocalDate, DaySlots> days;
+
+    /**
+     * Constructor to initialize AppointmentAvailabilityService with the slot
+     * layout and its dependencies.
+     *
+     * @param appointmentRepo            Repository for appointment data access
+     *                                   operations
+     * @param appointmentCapacityService Ledger holding the daily limit
+     * @param openingTime                Start of the first slot of a day, HH:mm
+     * @param closingTime                End of the last slot of a day, HH:mm
+     * @param slotMinutes                Length of a slot in minutes
+     * @param cacheTtlSeconds            Time a loaded day is trusted
+     * @param cacheMaxDays               Maximum number of days kept loaded
+     * @param maxSearchDays              Furthest a next-free search looks ahead
+     */
+    public AppointmentAvailabilityService(AppointmentRepo appointmentRepo,
+            AppointmentCapacityService appointmentCapacityService,
+            @Value("${appointments.slots.opening-time:09:00}") String openingTime,
+            @Value("${appointments.slots.closing-time:17:00}") String closingTime,
+            @Value("${appointments.slots.slot-minutes:30}") int slotMinutes,
+            @Value("${appointments.availability.cache-ttl-seconds:60}") long cacheTtlSeconds,
+            @Value("${appointments.availability.cache-max-days:366}") int cacheMaxDays,
+            @Value("${appointments.availability.max-search-days:90}") int maxSearchDays) {
+        this.appointmentRepo = appointmentRepo;
+        this.appointmentCapacityService = appointmentCapacityService;
+        this.openingTime = LocalTime.parse(openingTime);
+        this.slotMinutes = slotMinutes;
+        this.slotsPerDay = (int) (ChronoUnit.MINUTES.between(this.openingTime, LocalTime.parse(closingTime))
+                / slotMinutes);
+        this.maxSearchDays = maxSearchDays;
+        this.days = new ExpiringCache<>(cacheMaxDays, cacheTtlSeconds * 1000);
+    }
+
+    /**
+     * Returns the next free slots at or after the given time.
+     *
+     * @param from  The earliest acceptable slot start
+     * @param count The number of slots wanted
+     * @return up to count slot start times, in order
+     */
+    public List<LocalDateTime> findNextFreeSlots(LocalDateTime from, int count) {
+        List<LocalDateTime> slots = new ArrayList<>(count);
+        LocalDate lastDay = from.toLocalDate().plusDays(maxSearchDays);
+        for (LocalDate day = from.toLocalDate(); !day.isAfter(lastDay) && slots.size() < count; day = day
+                .plusDays(1)) {
+            collectFreeSlots(getDay(day, lastDay), day, from, count - slots.size(), slots);
+        }
+        return slots;
+    }
+
+    /**
+     * Returns the longest range, in days after the first day, that a search may
+     * cover.
+     *
+     * @return the maximum search range in days
+     */
+    public int getMaxSearchDays() {
+        return maxSearchDays;
+    }
+
+    /**
+     * Returns the free slots of every day in the range. Callers keep the range
+     * within {@link #getMaxSearchDays()}.
+     *
+     * @param start The first day, inclusive
+     * @param end   The last day, inclusive
+     * @return the free slot start times per day
+     */
+    public Map<LocalDate, List<LocalDateTime>> findFreeSlots(LocalDate start, LocalDate end) {
+        Map<LocalDate, List<LocalDateTime>> result = new LinkedHashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            List<LocalDateTime> slots = new ArrayList<>();
+            collectFreeSlots(getDay(day, end), day, now, slotsPerDay, slots);
+            result.put(day, slots);
+        }
+        return result;
+    }
+
+    private void collectFreeSlots(DaySlots daySlots, LocalDate day, LocalDateTime notBefore, int limit,
+            List<LocalDateTime> slots) {
+        synchronized (daySlots) {
+            if (daySlots.booked >= appointmentCapacityService.getMaxAppointmentsPerDay()) {
+                return;
+            }
+            int added = 0;
+            for (int slot = daySlots.occupied.nextClearBit(0); slot < slotsPerDay && added < limit; slot = daySlots.occupied
+                    .nextClearBit(slot + 1)) {
+                LocalDateTime slotStart = day.atTime(openingTime).plusMinutes((long) slot * slotMinutes);
+                if (!slotStart.isBefore(notBefore)) {
+                    slots.add(slotStart);
+                    added++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a booked appointment once the current transaction commits.
+     *
+     * @param appointmentDate The date and time of the appointment
+     */
+    public void onBooked(LocalDateTime appointmentDate) {
+        AfterCommit.run(() -> {
+            DaySlots daySlots = days.get(appointmentDate.toLocalDate());
+            if (daySlots != null) {
+                synchronized (daySlots) {
+                    int slot = slotOf(appointmentDate);
+                    if (slot >= 0) {
+                        daySlots.occupied.set(slot);
+                    }
+                    daySlots.booked++;
+                }
+            }
+        });
+    }
+
+    /**
+     * Forgets a day after one of its appointments was removed or moved. Two
+     * appointments can share a slot, so the day is reloaded on next use rather
+     * than clearing the bit.
+     *
+     * @param appointmentDate The date and time of the removed appointment
+     */
+    public void onReleased(LocalDateTime appointmentDate) {
+        AfterCommit.run(() -> days.invalidate(appointmentDate.toLocalDate()));
+    }
+
+    // Returns the slots of a day, loading it and the following days up to
+    // lastDay in one query when it is missing or stale
+    private DaySlots getDay(LocalDate day, LocalDate lastDay) {
+        DaySlots daySlots = days.get(day);
+        if (daySlots != null) {
+            return daySlots;
+        }
+        LocalDate batchEnd = day.plusDays(LOAD_BATCH_DAYS - 1L);
+        if (batchEnd.isAfter(lastDay)) {
+            batchEnd = lastDay;
+        }
+        Map<LocalDate, DaySlots> loaded = new LinkedHashMap<>();
+        for (LocalDate d = day; !d.isAfter(batchEnd); d = d.plusDays(1)) {
+            loaded.put(d, new DaySlots(slotsPerDay));
+        }
+        for (LocalDateTime appointmentDate : appointmentRepo.findAppointmentDatesBetween(day.atStartOfDay(),
+                batchEnd.plusDays(1).atStartOfDay())) {
+            DaySlots target = loaded.get(appointmentDate.toLocalDate());
+            int slot = slotOf(appointmentDate);
+            if (slot >= 0) {
+                target.occupied.set(slot);
+            }
+            target.booked++;
+        }
+        loaded.forEach(days::put);
+        return loaded.get(day);
+    }
+
+    // Index of the slot containing the time, or -1 outside opening hours
+    private int slotOf(LocalDateTime appointmentDate) {
+        long minutes = ChronoUnit.MINUTES.between(openingTime, appointmentDate.toLocalTime());
+        if (minutes < 0) {
+            return -1;
+        }
+        int slot = (int) (minutes / slotMinutes);
+        return slot < slotsPerDay ? slot : -1;
+    }
+
+    private static final class DaySlots {
+        private final BitSet occupied;
+        private int booked;
+
+        private DaySlots(int slotsPerDay) {
+            this.occupied = new BitSet(slotsPerDay);
+        }
+    }
+}
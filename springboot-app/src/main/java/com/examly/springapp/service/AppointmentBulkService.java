@@ -0,0 +1,224 @@
+package com.examly.springapp.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.examly.springapp.model.Appointment;
+import com.examly.springapp.model.AppointmentStatus;
+import com.examly.springapp.model.BulkAppointmentResult;
+import com.examly.springapp.model.DomainEvent;
+import com.examly.springapp.repository.PetRepo;
+import com.examly.springapp.repository.UserRepo;
+
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Creates many appointments in one request.
+ *
+ * Users and pets are checked with one IN query each, capacity is reserved once
+ * per affected day and the accepted rows are written with JDBC batch inserts.
+ * Items that are invalid, reference a missing user or pet, or do not fit in
+ * their day are rejected individually; the others are created.
+ */
+@Service
+public class AppointmentBulkService {
+
+    private static final String INSERT_SQL = "INSERT INTO appointment "
+            + "(appointment_date, reason, status, user_id, pet_id) VALUES (?, ?, ?, ?, ?)";
+
+    // Rows sent to the database in one JDBC batch
+    private static final int BATCH_SIZE = 500;
+
+    private final UserRepo userRepo;
+    private final PetRepo petRepo;
+    private final AppointmentCapacityService appointmentCapacityService;
+    private final AppointmentAvailabilityService appointmentAvailabilityService;
+    private final AppointmentCalendarService appointmentCalendarService;
+    private final OutboxService outboxService;
+    private final DashboardStatsService dashboardStatsService;
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+
+    /**
+     * Constructor to initialize AppointmentBulkService with the necessary
+     * dependencies.
+     *
+     * @param userRepo                       Repository for user lookups
+     * @param petRepo                        Repository for pet lookups
+     * @param appointmentCapacityService     Ledger enforcing the daily limit
+     * @param appointmentAvailabilityService Slot availability kept in step with
+     *                                       writes
+     * @param appointmentCalendarService     Per-day counts kept in step with
+     *                                       writes
+     * @param outboxService                  Outbox the created events are
+     *                                       written to
+     * @param dashboardStatsService          Dashboard counts of the created
+     *                                       appointments
+     * @param jdbcTemplate                   Template running the batch inserts in
+     *                                       the current transaction
+     * @param validator                      Validator applied to each item
+     */
+    public AppointmentBulkService(UserRepo userRepo, PetRepo petRepo,
+            AppointmentCapacityService appointmentCapacityService,
+            AppointmentAvailabilityService appointmentAvailabilityService,
+            AppointmentCalendarService appointmentCalendarService,
+            OutboxService outboxService, DashboardStatsService dashboardStatsService, JdbcTemplate jdbcTemplate,
+            Validator validator) {
+        this.userRepo = userRepo;
+        this.petRepo = petRepo;
+        this.appointmentCapacityService = appointmentCapacityService;
+        this.appointmentAvailabilityService = appointmentAvailabilityService;
+        this.appointmentCalendarService = appointmentCalendarService;
+        this.outboxService = outboxService;
+        this.dashboardStatsService = dashboardStatsService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+    }
+
+    /**
+     * Adds the given appointments, each as PENDING whatever status it carries.
+     *
+     * @param appointments The appointments to be added
+     * @return one result per item, in request order
+     */
+    @Transactional
+    public List<BulkAppointmentResult> addAppointments(List<Appointment> appointments) {
+        BulkAppointmentResult[] results = new BulkAppointmentResult[appointments.size()];
+        List<Integer> valid = new ArrayList<>();
+        Set<Integer> userIds = new HashSet<>();
+        Set<Integer> petIds = new HashSet<>();
+        for (int i = 0; i < appointments.size(); i++) {
+            if (appointments.get(i) != null) {
+                // New appointments enter the status workflow at its start
+                appointments.get(i).setStatus(AppointmentStatus.PENDING.name());
+            }
+            String error = validate(appointments.get(i));
+            if (error != null) {
+                results[i] = BulkAppointmentResult.rejected(i, error);
+            } else {
+                valid.add(i);
+                userIds.add(appointments.get(i).getUser().getUserId());
+                petIds.add(appointments.get(i).getPet().getPetId());
+            }
+        }
+        if (valid.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        Set<Integer> knownUsers = new HashSet<>(userRepo.findExistingIds(userIds));
+        Set<Integer> knownPets = new HashSet<>(petRepo.findExistingIds(petIds));
+        // Days in ascending order, so concurrent bulk requests lock ledger rows
+        // in the same order
+        Map<LocalDate, List<Integer>> byDay = new TreeMap<>();
+        for (int i : valid) {
+            Appointment appointment = appointments.get(i);
+            if (!knownUsers.contains(appointment.getUser().getUserId())) {
+                results[i] = BulkAppointmentResult.rejected(i, "User not found!");
+            } else if (!knownPets.contains(appointment.getPet().getPetId())) {
+                results[i] = BulkAppointmentResult.rejected(i, "Pet not found!");
+            } else {
+                byDay.computeIfAbsent(appointment.getAppointmentDate().toLocalDate(), d -> new ArrayList<>()).add(i);
+            }
+        }
+
+        // Items of a full day are accepted in request order until it is full
+        List<Integer> accepted = new ArrayList<>();
+        for (Map.Entry<LocalDate, List<Integer>> day : byDay.entrySet()) {
+            List<Integer> items = day.getValue();
+            int reserved = appointmentCapacityService.reserveUpTo(day.getKey(), items.size());
+            accepted.addAll(items.subList(0, reserved));
+            for (int i : items.subList(reserved, items.size())) {
+                results[i] = BulkAppointmentResult.rejected(i, "Cannot add more than "
+                        + appointmentCapacityService.getMaxAppointmentsPerDay()
+                        + " appointments within the specified day.");
+            }
+        }
+        accepted.sort(null);
+
+        int[] ids = insert(appointments, accepted);
+        Map<Integer, Appointment> created = new HashMap<>();
+        for (int k = 0; k < accepted.size(); k++) {
+            int i = accepted.get(k);
+            results[i] = BulkAppointmentResult.created(i, ids[k]);
+            appointments.get(i).setAppointmentId(ids[k]);
+            created.put(ids[k], appointments.get(i));
+            appointmentAvailabilityService.onBooked(appointments.get(i).getAppointmentDate());
+            appointmentCalendarService.onChanged(appointments.get(i).getAppointmentDate());
+        }
+        outboxService.publishAll(DomainEvent.APPOINTMENT, created.keySet(), DomainEvent.APPOINTMENT_CREATED,
+                id -> DomainEvent.payloadOf(created.get(id)));
+        created.values().stream().collect(Collectors.groupingBy(Appointment::getStatus, Collectors.counting()))
+                .forEach(dashboardStatsService::onAppointmentsAdded);
+        return Arrays.asList(results);
+    }
+
+    // Returns the first constraint violation of the item, or null if it is valid
+    private String validate(Appointment appointment) {
+        if (appointment == null) {
+            return "Appointment is required";
+        }
+        Set<ConstraintViolation<Appointment>> violations = validator.validate(appointment);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (appointment.getUser() == null) {
+            return "User is required";
+        }
+        if (appointment.getPet() == null) {
+            return "Pet is required";
+        }
+        return null;
+    }
+
+    // Inserts the accepted items in batches on the transaction's connection and
+    // returns their generated IDs in the same order
+    private int[] insert(List<Appointment> appointments, List<Integer> accepted) {
+        int[] ids = new int[accepted.size()];
+        if (accepted.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL,
+                    Statement.RETURN_GENERATED_KEYS)) {
+                int written = 0;
+                for (int start = 0; start < accepted.size(); start += BATCH_SIZE) {
+                    for (int i : accepted.subList(start, Math.min(start + BATCH_SIZE, accepted.size()))) {
+                        Appointment appointment = appointments.get(i);
+                        statement.setTimestamp(1, Timestamp.valueOf(appointment.getAppointmentDate()));
+                        statement.setString(2, appointment.getReason());
+                        statement.setString(3, appointment.getStatus());
+                        statement.setInt(4, appointment.getUser().getUserId());
+                        statement.setInt(5, appointment.getPet().getPetId());
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids[written++] = keys.getInt(1);
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+        return ids;
+    }
+}
@@ -0,0 +1,119 @@
+package com.examly.springapp.service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.examly.springapp.config.ExpiringCache;
+import com.examly.springapp.model.CalendarMonth;
+import com.examly.springapp.repository.AppointmentRepo;
+
+/**
+ * Serves the number of appointments per day of a month for the booking
+ * calendar.
+ *
+ * A month is loaded with one GROUP BY query and kept in memory for a TTL, so
+ * changes from other nodes show up. Writes on this node mark only the touched
+ * day as stale once their transaction commits; the next read recounts that day
+ * alone.
+ */
+@Service
+public class AppointmentCalendarService {
+
+    private final AppointmentRepo appointmentRepo;
+    private final AppointmentCapacityService appointmentCapacityService;
+    private final ExpiringCache<YearMonth, MonthCounts> months;
+
+    /**
+     * Constructor to initialize AppointmentCalendarService with the cache
+     * settings and its dependencies.
+     *
+     * @param appointmentRepo            Repository for appointment data access
+     *                                   operations
+     * @param appointmentCapacityService Ledger holding the daily limit
+     * @param maxMonths                  Number of months kept in memory
+     * @param cacheTtlSeconds            Time a loaded month is trusted
+     */
+    public AppointmentCalendarService(AppointmentRepo appointmentRepo,
+            AppointmentCapacityService appointmentCapacityService,
+            @Value("${appointments.calendar.cache-max-months:24}") int maxMonths,
+            @Value("${appointments.calendar.cache-ttl-seconds:60}") long cacheTtlSeconds) {
+        this.appointmentRepo = appointmentRepo;
+        this.appointmentCapacityService = appointmentCapacityService;
+        this.months = new ExpiringCache<>(maxMonths, cacheTtlSeconds * 1000);
+    }
+
+    /**
+     * Returns the number of appointments on each day of the month.
+     *
+     * @param month The month
+     * @return the per-day counts, including days without appointments
+     */
+    public CalendarMonth getMonth(YearMonth month) {
+        MonthCounts cached = months.get(month);
+        if (cached == null) {
+            cached = load(month);
+            months.put(month, cached);
+        } else {
+            for (LocalDate day : cached.stale) {
+                // Unmark before counting, so a change committed meanwhile
+                // marks the day again
+                if (cached.stale.remove(day)) {
+                    cached.counts.put(day, count(day, day.plusDays(1)).getOrDefault(day, 0L));
+                }
+            }
+        }
+        return new CalendarMonth(month.toString(), appointmentCapacityService.getMaxAppointmentsPerDay(),
+                new TreeMap<>(cached.counts));
+    }
+
+    /**
+     * Marks the day of an appointment as stale once the current transaction
+     * commits.
+     *
+     * @param appointmentDate The date and time of the created, moved or removed
+     *                        appointment
+     */
+    public void onChanged(LocalDateTime appointmentDate) {
+        LocalDate day = appointmentDate.toLocalDate();
+        AfterCommit.run(() -> {
+            MonthCounts cached = months.get(YearMonth.from(day));
+            if (cached != null) {
+                cached.stale.add(day);
+            }
+        });
+    }
+
+    private MonthCounts load(YearMonth month) {
+        MonthCounts loaded = new MonthCounts();
+        for (int d = 1; d <= month.lengthOfMonth(); d++) {
+            loaded.counts.put(month.atDay(d), 0L);
+        }
+        loaded.counts.putAll(count(month.atDay(1), month.plusMonths(1).atDay(1)));
+        return loaded;
+    }
+
+    // Counts of the days within [start, end) that have appointments
+    private Map<LocalDate, Long> count(LocalDate start, LocalDate end) {
+        Map<LocalDate, Long> counts = new HashMap<>();
+        for (Object[] row : appointmentRepo.countPerDayBetween(start.atStartOfDay(), end.atStartOfDay())) {
+            LocalDate day = row[0] instanceof LocalDate date ? date : ((Date) row[0]).toLocalDate();
+            counts.put(day, ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    private static final class MonthCounts {
+        private final Map<LocalDate, Long> counts = new ConcurrentHashMap<>();
+        private final Set<LocalDate> stale = ConcurrentHashMap.newKeySet();
+    }
+}
@@ -0,0 +1,141 @@
+package com.examly.springapp.service;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.examly.springapp.exception.AppointmentExceedException;
+import com.examly.springapp.model.AppointmentCapacity;
+import com.examly.springapp.repository.AppointmentCapacityRepo;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Enforces the daily appointment limit through the appointment_capacity ledger.
+ *
+ * Each booking is a single conditional UPDATE on the row of its day, so the
+ * limit holds across application nodes sharing the database without counting
+ * appointment rows. Callers must run inside the transaction that writes the
+ * appointment, so a failed write also rolls back the reservation.
+ */
+@Service
+public class AppointmentCapacityService {
+
+    private final AppointmentCapacityRepo appointmentCapacityRepo;
+    private final int maxAppointmentsPerDay;
+
+    /**
+     * Constructor to initialize AppointmentCapacityService with the necessary
+     * dependency.
+     *
+     * @param appointmentCapacityRepo Repository for the capacity ledger
+     * @param maxAppointmentsPerDay   The maximum number of appointments per day
+     */
+    public AppointmentCapacityService(AppointmentCapacityRepo appointmentCapacityRepo,
+            @Value("${appointments.max-per-day:15}") int maxAppointmentsPerDay) {
+        this.appointmentCapacityRepo = appointmentCapacityRepo;
+        this.maxAppointmentsPerDay = maxAppointmentsPerDay;
+    }
+
+    public int getMaxAppointmentsPerDay() {
+        return maxAppointmentsPerDay;
+    }
+
+    /**
+     * Reserves one appointment on the given day.
+     *
+     * @param day The day to book
+     * @throws AppointmentExceedException if the day is already full
+     */
+    @Transactional
+    public void reserve(LocalDate day) throws AppointmentExceedException {
+        if (appointmentCapacityRepo.tryReserve(day, maxAppointmentsPerDay) == 1) {
+            return;
+        }
+        // First booking of the day: create the ledger row from the existing
+        // appointments, then try again
+        if (!appointmentCapacityRepo.existsById(day)) {
+            appointmentCapacityRepo.insertIfAbsent(day, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+            if (appointmentCapacityRepo.tryReserve(day, maxAppointmentsPerDay) == 1) {
+                return;
+            }
+        }
+        throw new AppointmentExceedException(
+                "Cannot add more than " + maxAppointmentsPerDay + " appointments within the specified day.");
+    }
+
+    /**
+     * Reserves as many of the wanted appointments on the given day as still
+     * fit, with the day's ledger row locked until the transaction ends.
+     *
+     * @param day    The day to book
+     * @param wanted The number of appointments to book
+     * @return the number of appointments reserved, between 0 and wanted
+     */
+    @Transactional
+    public int reserveUpTo(LocalDate day, int wanted) {
+        if (wanted <= 0) {
+            return 0;
+        }
+        AppointmentCapacity capacity = appointmentCapacityRepo.findForUpdate(day).orElse(null);
+        if (capacity == null) {
+            appointmentCapacityRepo.insertIfAbsent(day, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+            capacity = appointmentCapacityRepo.findForUpdate(day).orElseThrow();
+        }
+        int reserved = Math.max(0, Math.min(wanted, maxAppointmentsPerDay - capacity.getBookedCount()));
+        capacity.setBookedCount(capacity.getBookedCount() + reserved);
+        return reserved;
+    }
+
+    /**
+     * Releases appointments booked on the given day.
+     *
+     * @param day   The day the appointments were booked on
+     * @param count The number of appointments to release
+     */
+    @Transactional
+    public void release(LocalDate day, int count) {
+        if (count > 0) {
+            appointmentCapacityRepo.release(day, count);
+        }
+    }
+
+    /**
+     * Releases the bookings of every appointment of a pet. Must run before the
+     * appointments are deleted.
+     *
+     * @param petId The ID of the pet
+     */
+    @Transactional
+    public void releaseAllForPet(int petId) {
+        appointmentCapacityRepo.releaseAllForPet(petId);
+    }
+
+    /**
+     * Releases the bookings of every appointment booked by a user or for one of
+     * the user's pets. Must run before the appointments are deleted.
+     *
+     * @param userId The ID of the user
+     */
+    @Transactional
+    public void releaseAllForUser(int userId) {
+        appointmentCapacityRepo.releaseAllForUser(userId);
+    }
+
+    /**
+     * Moves one booking from one day to another, reserving the new day first.
+     *
+     * @param from The day the appointment was booked on
+     * @param to   The day the appointment is moved to
+     * @throws AppointmentExceedException if the new day is already full
+     */
+    @Transactional
+    public void move(LocalDate from, LocalDate to) throws AppointmentExceedException {
+        if (from.equals(to)) {
+            return;
+        }
+        reserve(to);
+        release(from, 1);
+    }
+}
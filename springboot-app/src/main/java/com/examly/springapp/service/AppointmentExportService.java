@@ -0,0 +1,134 @@
+package com.examly.springapp.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+
+import com.examly.springapp.model.Appointment;
+import com.examly.springapp.repository.AppointmentRepo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+/**
+ * Writes every appointment to an output stream as NDJSON or CSV.
+ *
+ * Rows are read through a forward-only JDBC stream, written one at a time and
+ * detached from the persistence context in batches, so memory use does not
+ * depend on the number of appointments.
+ */
+@Service
+public class AppointmentExportService {
+
+    // Rows written between two flushes of the response
+    private static final int FLUSH_EVERY = 500;
+
+    private static final String[] CSV_HEADER = { "appointmentId", "appointmentDate", "reason", "status",
+            "userId", "username", "email", "petId", "petName", "species", "breed" };
+
+    private final AppointmentRepo appointmentRepo;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor to initialize AppointmentExportService with the necessary
+     * dependencies.
+     *
+     * @param appointmentRepo Repository for appointment data access operations
+     * @param entityManager   Persistence context the rows are detached from
+     * @param objectMapper    Mapper used for the NDJSON lines
+     */
+    public AppointmentExportService(AppointmentRepo appointmentRepo, EntityManager entityManager,
+            ObjectMapper objectMapper) {
+        this.appointmentRepo = appointmentRepo;
+        this.entityManager = entityManager;
+        // Lines go to a shared writer that is flushed in batches, not per row
+        this.objectMapper = objectMapper.copy()
+                .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)
+                .configure(SerializationFeature.FLUSH_AFTER_WRITE_VALUE, false);
+    }
+
+    /**
+     * Streams all appointments to the output.
+     *
+     * @param csv    true for CSV, false for NDJSON
+     * @param output The stream the export is written to
+     * @throws IOException if writing to the output fails
+     */
+    @Transactional
+    public void export(boolean csv, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (csv) {
+            writeCsvLine(writer, CSV_HEADER);
+        }
+        try (Stream<Appointment> appointments = appointmentRepo.streamAllForExport()) {
+            Iterator<Appointment> rows = appointments.iterator();
+            int written = 0;
+            while (rows.hasNext()) {
+                Appointment appointment = rows.next();
+                Map<String, Object> row = toRow(appointment);
+                if (csv) {
+                    writeCsvLine(writer, row.values().stream().map(v -> v == null ? "" : v.toString())
+                            .toArray(String[]::new));
+                } else {
+                    objectMapper.writeValue(writer, row);
+                    writer.write('\n');
+                }
+                if (++written % FLUSH_EVERY == 0) {
+                    // Detach the written rows with their users and pets
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    // Flat view of the row, without the user's password, mobile number or role
+    private Map<String, Object> toRow(Appointment appointment) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("appointmentId", appointment.getAppointmentId());
+        row.put("appointmentDate", appointment.getAppointmentDate().toString());
+        row.put("reason", appointment.getReason());
+        row.put("status", appointment.getStatus());
+        row.put("userId", appointment.getUser().getUserId());
+        row.put("username", appointment.getUser().getUsername());
+        row.put("email", appointment.getUser().getEmail());
+        row.put("petId", appointment.getPet().getPetId());
+        row.put("petName", appointment.getPet().getName());
+        row.put("species", appointment.getPet().getSpecies());
+        row.put("breed", appointment.getPet().getBreed());
+        return row;
+    }
+
+    private void writeCsvLine(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    // Quotes a field when it contains a separator, quote or line break
+    private String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
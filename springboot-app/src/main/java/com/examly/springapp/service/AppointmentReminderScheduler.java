@@ -0,0 +1,262 @@
+package com.examly.springapp.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.examly.springapp.config.HierarchicalTimingWheel;
+import com.examly.springapp.config.HierarchicalTimingWheel.Timer;
+import com.examly.springapp.model.DomainEvent;
+import com.examly.springapp.model.Reminder;
+import com.examly.springapp.model.ReminderTarget;
+import com.examly.springapp.repository.AppointmentRepo;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Sends reminders ahead of approved appointments, by default 24 hours and 1
+ * hour before.
+ *
+ * Approved appointments within a rolling horizon are kept in a hierarchical
+ * timing wheel. The horizon is extended periodically with one range query
+ * over the appointments that entered it since the last load, and the
+ * appointment events relayed from the outbox reschedule or cancel their
+ * reminders, so the table is never polled for due reminders. An event only
+ * triggers a re-read of its appointment, which makes handling it idempotent
+ * and independent of the order events arrive in. Before sending, the due
+ * appointments are re-read in one query and reminders for appointments that
+ * were moved or are no longer approved are dropped.
+ *
+ * Every node runs the scheduler, and an event reaches only the node that
+ * relays it. A reminder is therefore claimed with a row in
+ * appointment_reminder before it is sent: whichever node inserts the row
+ * sends it, the others skip it, and one node holding the timer is enough.
+ */
+@Service
+public class AppointmentReminderScheduler implements DomainEventSubscriber, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AppointmentReminderScheduler.class);
+
+    // 64 buckets per level over 4 levels of 1 second ticks span about 194 days
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_LEVELS = 4;
+
+    private static final String CLAIM_SQL = "INSERT IGNORE INTO appointment_reminder "
+            + "(appointment_id, appointment_date, lead_minutes, sent_at) VALUES (?, ?, ?, ?)";
+
+    private final AppointmentRepo appointmentRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final List<ReminderSender> senders;
+    private final boolean enabled;
+    private final List<Duration> leads = new ArrayList<>();
+    private final Duration horizon;
+    private final long loadIntervalMillis;
+    private final long tickMillis;
+    private final ScheduledExecutorService executor;
+
+    // Guarded by this
+    private final HierarchicalTimingWheel<Reminder> wheel;
+    private final Map<Integer, List<Timer<Reminder>>> timersByAppointment = new HashMap<>();
+    private LocalDateTime loadedUntil;
+
+    /**
+     * Constructor to initialize AppointmentReminderScheduler with the reminder
+     * settings and its dependencies.
+     *
+     * @param appointmentRepo     Repository for appointment data access
+     *                            operations
+     * @param jdbcTemplate        Template claiming the reminders before they
+     *                            are sent
+     * @param senders             The senders each due reminder is handed to
+     * @param enabled             Whether reminders are scheduled at all
+     * @param leadMinutes         How long before an appointment each reminder is
+     *                            sent
+     * @param horizonHours        How far ahead appointments are kept in memory;
+     *                            must exceed the longest lead
+     * @param loadIntervalMinutes How often the horizon is extended
+     * @param tickMillis          The resolution of the timing wheel
+     */
+    public AppointmentReminderScheduler(AppointmentRepo appointmentRepo, JdbcTemplate jdbcTemplate,
+            List<ReminderSender> senders,
+            @Value("${appointments.reminders.enabled:true}") boolean enabled,
+            @Value("${appointments.reminders.lead-minutes:1440,60}") int[] leadMinutes,
+            @Value("${appointments.reminders.horizon-hours:48}") int horizonHours,
+            @Value("${appointments.reminders.load-interval-minutes:10}") int loadIntervalMinutes,
+            @Value("${appointments.reminders.tick-millis:1000}") long tickMillis) {
+        this.appointmentRepo = appointmentRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.senders = senders;
+        this.enabled = enabled;
+        for (int minutes : leadMinutes) {
+            leads.add(Duration.ofMinutes(minutes));
+        }
+        this.horizon = Duration.ofHours(horizonHours);
+        this.loadIntervalMillis = TimeUnit.MINUTES.toMillis(loadIntervalMinutes);
+        this.tickMillis = tickMillis;
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, WHEEL_BITS, WHEEL_LEVELS, System.currentTimeMillis());
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "appointment-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        executor.scheduleWithFixedDelay(guarded(this::extendHorizon), 0, loadIntervalMillis, TimeUnit.MILLISECONDS);
+        executor.scheduleAtFixedRate(guarded(this::tick), tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Reschedules the reminders of the appointment an event is about.
+     * Appointments that are not approved, or no longer exist, lose their
+     * reminders.
+     *
+     * @param event The event
+     */
+    @Override
+    public void onEvent(DomainEvent event) {
+        if (enabled && DomainEvent.APPOINTMENT.equals(event.aggregateType())) {
+            refresh(List.of(event.aggregateId()));
+        }
+    }
+
+    public synchronized int getPendingCount() {
+        return wheel.size();
+    }
+
+    // Loads the appointments that entered the horizon since the last load and
+    // forgets the claims of appointments that are over
+    private void extendHorizon() {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("DELETE FROM appointment_reminder WHERE appointment_date < ?", Timestamp.valueOf(now));
+        LocalDateTime until = now.plus(horizon);
+        LocalDateTime from;
+        synchronized (this) {
+            from = loadedUntil == null || loadedUntil.isBefore(now) ? now : loadedUntil;
+        }
+        if (!until.isAfter(from)) {
+            return;
+        }
+        List<ReminderTarget> targets = appointmentRepo.findReminderTargetsBetween(from, until);
+        synchronized (this) {
+            targets.forEach(this::schedule);
+            loadedUntil = until;
+        }
+    }
+
+    private void refresh(List<Integer> ids) {
+        LocalDateTime until = LocalDateTime.now().plus(horizon);
+        List<ReminderTarget> targets = appointmentRepo.findReminderTargetsByIds(ids);
+        synchronized (this) {
+            ids.forEach(this::cancel);
+            targets.stream().filter(target -> target.appointmentDate().isBefore(until)).forEach(this::schedule);
+        }
+    }
+
+    private void tick() {
+        List<Reminder> due;
+        synchronized (this) {
+            due = wheel.advanceTo(System.currentTimeMillis());
+            for (Reminder reminder : due) {
+                timersByAppointment.computeIfPresent(reminder.target().appointmentId(), (id, timers) -> {
+                    timers.removeIf(timer -> timer.getPayload() == reminder);
+                    return timers.isEmpty() ? null : timers;
+                });
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        // Drop reminders of appointments moved or no longer approved meanwhile
+        Map<Integer, ReminderTarget> current = new HashMap<>();
+        appointmentRepo.findReminderTargetsByIds(due.stream().map(r -> r.target().appointmentId()).toList())
+                .forEach(target -> current.put(target.appointmentId(), target));
+        for (Reminder reminder : due) {
+            ReminderTarget target = current.get(reminder.target().appointmentId());
+            if (target != null && target.appointmentDate().equals(reminder.target().appointmentDate())
+                    && claim(target, reminder.lead())) {
+                send(new Reminder(target, reminder.lead()));
+            }
+        }
+    }
+
+    // True if this node is the first to send the reminder
+    private boolean claim(ReminderTarget target, Duration lead) {
+        return jdbcTemplate.update(CLAIM_SQL, target.appointmentId(), Timestamp.valueOf(target.appointmentDate()),
+                lead.toMinutes(), Timestamp.valueOf(LocalDateTime.now())) == 1;
+    }
+
+    private void send(Reminder reminder) {
+        for (ReminderSender sender : senders) {
+            try {
+                sender.send(reminder);
+            } catch (RuntimeException e) {
+                LOG.warn("Reminder sender {} failed for appointment {}", sender.getClass().getSimpleName(),
+                        reminder.target().appointmentId(), e);
+            }
+        }
+    }
+
+    // Replaces the reminders of the target; callers hold the lock
+    private void schedule(ReminderTarget target) {
+        cancel(target.appointmentId());
+        long now = System.currentTimeMillis();
+        List<Timer<Reminder>> timers = new ArrayList<>(leads.size());
+        for (Duration lead : leads) {
+            long dueAt = target.appointmentDate().minus(lead).atZone(ZoneId.systemDefault()).toInstant()
+                    .toEpochMilli();
+            if (dueAt >= now) {
+                Timer<Reminder> timer = wheel.schedule(dueAt, new Reminder(target, lead));
+                if (timer != null) {
+                    timers.add(timer);
+                }
+            }
+        }
+        if (!timers.isEmpty()) {
+            timersByAppointment.put(target.appointmentId(), timers);
+        }
+    }
+
+    // Callers hold the lock
+    private void cancel(int appointmentId) {
+        List<Timer<Reminder>> timers = timersByAppointment.remove(appointmentId);
+        if (timers != null) {
+            timers.forEach(wheel::cancel);
+        }
+    }
+
+    // A periodic task stops for good when it throws, so failures are logged
+    private Runnable guarded(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOG.warn("Appointment reminder task failed", e);
+            }
+        };
+    }
+}
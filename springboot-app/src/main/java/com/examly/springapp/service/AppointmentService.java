@@ -5,7 +5,15 @@ import java.util.Optional;
 
 import com.examly.springapp.exception.AppointmentExceedException;
 import com.examly.springapp.exception.AppointmentNotFoundException;
+import com.examly.springapp.exception.InvalidCursorException;
+import com.examly.springapp.exception.InvalidStatusTransitionException;
+import com.examly.springapp.exception.VersionConflictException;
 import com.examly.springapp.model.Appointment;
+import com.examly.springapp.model.AppointmentSearchCriteria;
+import com.examly.springapp.model.AppointmentStatus;
+import com.examly.springapp.model.AppointmentView;
+import com.examly.springapp.model.BulkStatusResult;
+import com.examly.springapp.model.CursorPageDTO;
 import com.examly.springapp.model.Pet;
 
 /**
@@ -18,7 +26,7 @@ public interface AppointmentService {
      * 
      * @return A list of all appointments
      */
-    List<Appointment> getAllAppointments();
+    List<AppointmentView> getAllAppointments();
 
     /**
      * Retrieves appointments by user ID.
@@ -26,7 +34,45 @@ public interface AppointmentService {
      * @param userId The ID of the user whose appointments are to be retrieved
      * @return A list of appointments belonging to the specified user
      */
-    List<Appointment> getAppointmentsByUserId(int userId);
+    List<AppointmentView> getAppointmentsByUserId(int userId);
+
+    /**
+     * Retrieves one page of all appointments, ordered by date and ID.
+     * 
+     * @param cursor The cursor returned with the previous page, or null for the
+     *               first page
+     * @param size   The page size, or null for the default
+     * @return The page and the cursor of the next page
+     * @throws InvalidCursorException if the cursor cannot be decoded
+     */
+    CursorPageDTO<AppointmentView> getAppointmentsPage(String cursor, Integer size) throws InvalidCursorException;
+
+    /**
+     * Retrieves one page of a user's appointments, ordered by date and ID.
+     * 
+     * @param userId The ID of the user whose appointments are to be retrieved
+     * @param cursor The cursor returned with the previous page, or null for the
+     *               first page
+     * @param size   The page size, or null for the default
+     * @return The page and the cursor of the next page
+     * @throws InvalidCursorException if the cursor cannot be decoded
+     */
+    CursorPageDTO<AppointmentView> getAppointmentsPageByUserId(int userId, String cursor, Integer size)
+            throws InvalidCursorException;
+
+    /**
+     * Retrieves one page of the appointments matching the search filters,
+     * ordered by date and ID.
+     * 
+     * @param criteria The search filters
+     * @param cursor   The cursor returned with the previous page, or null for the
+     *                 first page
+     * @param size     The page size, or null for the default
+     * @return The page and the cursor of the next page
+     * @throws InvalidCursorException if the cursor cannot be decoded
+     */
+    CursorPageDTO<AppointmentView> searchAppointments(AppointmentSearchCriteria criteria, String cursor,
+            Integer size) throws InvalidCursorException;
 
     /**
      * Adds a new appointment.
@@ -50,11 +96,17 @@ public interface AppointmentService {
      * Updates an appointment by its ID.
      * 
      * @param appointmentId The ID of the appointment to be updated
-     * @param appointment   The updated appointment details
+     * @param appointment     The updated appointment details
+     * @param expectedVersion The version the client last read, or null to skip
+     *                        the check
      * @return The updated appointment, or null if not found
      * @throws AppointmentNotFoundException
+     * @throws AppointmentExceedException
+     * @throws VersionConflictException    if the appointment is no longer at the
+     *                                     expected version
      */
-    Appointment updateAppointmentById(int appointmentId, Appointment appointment) throws AppointmentNotFoundException;
+    Appointment updateAppointmentById(int appointmentId, Appointment appointment, Integer expectedVersion)
+            throws AppointmentNotFoundException, AppointmentExceedException, VersionConflictException;
 
     /**
      * Deletes an appointment by its ID.
@@ -65,7 +117,30 @@ public interface AppointmentService {
      */
     boolean deleteAppointmentById(int appointmentId) throws AppointmentNotFoundException;
 
-    public void updateAppointmentStatus(int appointmentId, String status);
+    /**
+     * Moves an appointment to a new status with a single conditional update.
+     * Setting the status it already has is a no-op.
+     * 
+     * @param appointmentId The ID of the appointment
+     * @param status        The new status
+     * @param expected      The status the appointment must be in, or null for
+     *                      any status the transition allows
+     * @throws AppointmentNotFoundException      if the appointment does not exist
+     * @throws InvalidStatusTransitionException if the appointment is in a status
+     *                                          it cannot leave for the new one
+     */
+    public void updateAppointmentStatus(int appointmentId, AppointmentStatus status, AppointmentStatus expected)
+            throws AppointmentNotFoundException, InvalidStatusTransitionException;
+
+    /**
+     * Moves many appointments to a new status with a single conditional update.
+     * Appointments that do not exist or cannot make the transition are skipped.
+     * 
+     * @param appointmentIds The IDs of the appointments
+     * @param status         The new status
+     * @return the number of changed appointments and the skipped IDs
+     */
+    public BulkStatusResult updateAppointmentStatuses(List<Integer> appointmentIds, AppointmentStatus status);
 
     public List<Appointment> getAllAppointmentsWithPet();
 
@@ -1,16 +1,40 @@
 package com.examly.springapp.service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import com.examly.springapp.exception.AppointmentExceedException;
 import com.examly.springapp.exception.AppointmentNotFoundException;
+import com.examly.springapp.exception.InvalidCursorException;
+import com.examly.springapp.exception.InvalidStatusTransitionException;
+import com.examly.springapp.exception.VersionConflictException;
 import com.examly.springapp.model.Appointment;
+import com.examly.springapp.model.AppointmentSearchCriteria;
+import com.examly.springapp.model.AppointmentStatus;
+import com.examly.springapp.model.AppointmentView;
+import com.examly.springapp.model.BulkStatusResult;
+import com.examly.springapp.model.CursorPageDTO;
+import com.examly.springapp.model.DomainEvent;
 import com.examly.springapp.model.Pet;
 import com.examly.springapp.model.User;
 import com.examly.springapp.repository.AppointmentRepo;
+import com.examly.springapp.repository.AppointmentSpecifications;
 import com.examly.springapp.repository.PetRepo;
 import com.examly.springapp.repository.UserRepo;
 
@@ -29,37 +53,138 @@ public class AppointmentServiceImpl implements AppointmentService {
 
     private final UserRepo userRepo;
     private final PetRepo petRepo;
-    private static final int MAX_APPOINTMENTS = 15;
+    private final AppointmentCapacityService appointmentCapacityService;
+    private final AppointmentAvailabilityService appointmentAvailabilityService;
+    private final AppointmentCalendarService appointmentCalendarService;
+    private final OutboxService outboxService;
+    private final DashboardStatsService dashboardStatsService;
+
+    @Value("${appointments.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${appointments.page.max-size:500}")
+    private int maxPageSize;
 
     /**
      * Constructor to initialize AppointmentServiceImpl with the necessary
      * dependency.
      *
-     * @param appointmentRepo Repository for appointment data access operations
+     * @param appointmentRepo                Repository for appointment data
+     *                                       access operations
+     * @param appointmentCapacityService     Ledger enforcing the daily limit
+     * @param appointmentAvailabilityService Slot availability kept in step with
+     *                                       writes
+     * @param appointmentCalendarService     Per-day counts kept in step with
+     *                                       writes
+     * @param outboxService                  Outbox the domain events are written
+     *                                       to, which also reschedules reminders
+     * @param dashboardStatsService          Dashboard counts kept in step with
+     *                                       writes
      */
-    public AppointmentServiceImpl(AppointmentRepo appointmentRepo, UserRepo userRepo, PetRepo petRepo) {
+    public AppointmentServiceImpl(AppointmentRepo appointmentRepo, UserRepo userRepo, PetRepo petRepo,
+            AppointmentCapacityService appointmentCapacityService,
+            AppointmentAvailabilityService appointmentAvailabilityService,
+            AppointmentCalendarService appointmentCalendarService,
+            OutboxService outboxService, DashboardStatsService dashboardStatsService) {
         this.appointmentRepo = appointmentRepo;
         this.userRepo = userRepo;
         this.petRepo = petRepo;
+        this.appointmentCapacityService = appointmentCapacityService;
+        this.appointmentAvailabilityService = appointmentAvailabilityService;
+        this.appointmentCalendarService = appointmentCalendarService;
+        this.outboxService = outboxService;
+        this.dashboardStatsService = dashboardStatsService;
     }
 
     @Override
-    public List<Appointment> getAllAppointments() {
-        return appointmentRepo.findAll();
+    public List<AppointmentView> getAllAppointments() {
+        return appointmentRepo.findAllViews();
     }
 
     @Override
-    public List<Appointment> getAppointmentsByUserId(int userId) {
-        return appointmentRepo.findByUser_UserId(userId);
+    public List<AppointmentView> getAppointmentsByUserId(int userId) {
+        return appointmentRepo.findViewsByUserId(userId);
+    }
+
+    @Override
+    public CursorPageDTO<AppointmentView> getAppointmentsPage(String cursor, Integer size)
+            throws InvalidCursorException {
+        Pageable page = pageOf(size);
+        if (cursor == null || cursor.isEmpty()) {
+            return toPage(appointmentRepo.findFirstPage(page), page);
+        }
+        Appointment after = decodeCursor(cursor);
+        return toPage(appointmentRepo.findPageAfter(after.getAppointmentDate(), after.getAppointmentId(), page),
+                page);
+    }
+
+    @Override
+    public CursorPageDTO<AppointmentView> getAppointmentsPageByUserId(int userId, String cursor, Integer size)
+            throws InvalidCursorException {
+        Pageable page = pageOf(size);
+        if (cursor == null || cursor.isEmpty()) {
+            return toPage(appointmentRepo.findFirstPageByUserId(userId, page), page);
+        }
+        Appointment after = decodeCursor(cursor);
+        return toPage(appointmentRepo.findPageByUserIdAfter(userId, after.getAppointmentDate(),
+                after.getAppointmentId(), page), page);
+    }
+
+    @Override
+    public CursorPageDTO<AppointmentView> searchAppointments(AppointmentSearchCriteria criteria, String cursor,
+            Integer size) throws InvalidCursorException {
+        Pageable page = pageOf(size);
+        Specification<Appointment> spec = AppointmentSpecifications.matching(criteria);
+        if (cursor != null && !cursor.isEmpty()) {
+            Appointment after = decodeCursor(cursor);
+            spec = spec.and(AppointmentSpecifications.after(after.getAppointmentDate(), after.getAppointmentId()));
+        }
+        return toPage(appointmentRepo.findViews(spec, page.getPageSize()), page);
+    }
+
+    // Fetches one row more than the page size to know whether a next page exists
+    private Pageable pageOf(Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    private CursorPageDTO<AppointmentView> toPage(List<AppointmentView> rows, Pageable page) {
+        int pageSize = page.getPageSize() - 1;
+        if (rows.size() <= pageSize) {
+            return new CursorPageDTO<>(rows, null);
+        }
+        List<AppointmentView> items = rows.subList(0, pageSize);
+        return new CursorPageDTO<>(items, encodeCursor(items.get(pageSize - 1)));
+    }
+
+    // The cursor is the sort key of the last row, "date|id", base64url encoded
+    private String encodeCursor(AppointmentView last) {
+        String key = last.appointmentDate() + "|" + last.appointmentId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Appointment decodeCursor(String cursor) throws InvalidCursorException {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = key.lastIndexOf('|');
+            Appointment after = new Appointment();
+            after.setAppointmentDate(LocalDateTime.parse(key.substring(0, separator)));
+            after.setAppointmentId(Integer.parseInt(key.substring(separator + 1)));
+            return after;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid page cursor");
+        }
     }
 
     /**
-     * Adds a new appointment to the repository.
+     * Adds a new appointment to the repository. It always starts as PENDING,
+     * whatever status the request carries; updateAppointmentStatus moves it on.
      * 
      * @param appointment The appointment to be added
      * @return The added appointment
      */
     @Override
+    @Transactional
     public Appointment addAppointment(Appointment appointment)
             throws AppointmentExceedException, AppointmentNotFoundException {
         Optional<User> user = userRepo.findById(appointment.getUser().getUserId());
@@ -72,17 +197,17 @@ public class AppointmentServiceImpl implements AppointmentService {
             throw new AppointmentNotFoundException("Pet not found!");
         }
 
-        LocalDateTime startOfDay = appointment.getAppointmentDate().toLocalDate().atStartOfDay();
-        LocalDateTime endOfDay = startOfDay.plusDays(1).minusSeconds(1);
+        // Atomically book the day in the capacity ledger, rolled back with the insert
+        appointmentCapacityService.reserve(appointment.getAppointmentDate().toLocalDate());
 
-        int totalAppointments = appointmentRepo.countByAppointmentDateBetween(startOfDay, endOfDay);
-
-        if (totalAppointments >= MAX_APPOINTMENTS) {
-            throw new AppointmentExceedException(
-                    "Cannot add more than " + MAX_APPOINTMENTS + " appointments within the specified day.");
-        }
-
-        return appointmentRepo.save(appointment);
+        appointment.setStatus(AppointmentStatus.PENDING.name());
+        Appointment savedAppointment = appointmentRepo.save(appointment);
+        appointmentAvailabilityService.onBooked(savedAppointment.getAppointmentDate());
+        appointmentCalendarService.onChanged(savedAppointment.getAppointmentDate());
+        outboxService.publish(DomainEvent.APPOINTMENT, savedAppointment.getAppointmentId(),
+                DomainEvent.APPOINTMENT_CREATED, DomainEvent.payloadOf(savedAppointment));
+        dashboardStatsService.onAppointmentsAdded(savedAppointment.getStatus(), 1);
+        return savedAppointment;
     }
 
     /**
@@ -99,25 +224,48 @@ public class AppointmentServiceImpl implements AppointmentService {
 
     /**
      * Updates an appointment by its ID. If the appointment with the given ID is
-     * found, its details are updated.
+     * found, its details are updated. The status is kept: it only changes
+     * through updateAppointmentStatus, which enforces the allowed transitions.
      * 
      * @param appointmentId The ID of the appointment to be updated
-     * @param appointment   The updated appointment details
+     * @param appointment     The updated appointment details
+     * @param expectedVersion The version the client last read, or null to skip
+     *                        the check
      * @return The updated appointment, or null if not found
      * @throws AppointmentNotFoundException
+     * @throws AppointmentExceedException   if the new day is already full
+     * @throws VersionConflictException     if the appointment changed since the
+     *                                      expected version
      */
     @Override
-    public Appointment updateAppointmentById(int appointmentId, Appointment appointment)
-            throws AppointmentNotFoundException {
+    @Transactional
+    public Appointment updateAppointmentById(int appointmentId, Appointment appointment, Integer expectedVersion)
+            throws AppointmentNotFoundException, AppointmentExceedException, VersionConflictException {
         Optional<Appointment> existingAppointment = appointmentRepo.findById(appointmentId);
         if (existingAppointment.isPresent()) {
             Appointment updatedAppointment = existingAppointment.get();
+            if (expectedVersion != null && expectedVersion != updatedAppointment.getVersion()) {
+                throw new VersionConflictException("Appointment was changed by another request, reload and retry");
+            }
+            // Move the booking in the capacity ledger when the day changes
+            appointmentCapacityService.move(updatedAppointment.getAppointmentDate().toLocalDate(),
+                    appointment.getAppointmentDate().toLocalDate());
+            if (!updatedAppointment.getAppointmentDate().equals(appointment.getAppointmentDate())) {
+                appointmentAvailabilityService.onReleased(updatedAppointment.getAppointmentDate());
+                appointmentAvailabilityService.onBooked(appointment.getAppointmentDate());
+                appointmentCalendarService.onChanged(updatedAppointment.getAppointmentDate());
+                appointmentCalendarService.onChanged(appointment.getAppointmentDate());
+            }
             updatedAppointment.setAppointmentDate(appointment.getAppointmentDate());
             updatedAppointment.setReason(appointment.getReason());
             updatedAppointment.setUser(appointment.getUser());
             updatedAppointment.setPet(appointment.getPet());
-            updatedAppointment.setStatus(appointment.getStatus());
-            return appointmentRepo.save(updatedAppointment);
+            // Flushed here so a concurrent change fails the versioned UPDATE now
+            // and the returned version is the new one
+            Appointment savedAppointment = appointmentRepo.saveAndFlush(updatedAppointment);
+            outboxService.publish(DomainEvent.APPOINTMENT, appointmentId, DomainEvent.APPOINTMENT_UPDATED,
+                    DomainEvent.payloadOf(savedAppointment));
+            return savedAppointment;
         } else {
             throw new AppointmentNotFoundException("Appointment not found !"); // throw an exception if appointment not
                                                                                // found
@@ -133,9 +281,17 @@ public class AppointmentServiceImpl implements AppointmentService {
      * @throws AppointmentNotFoundException
      */
     @Override
+    @Transactional
     public boolean deleteAppointmentById(int appointmentId) throws AppointmentNotFoundException {
-        if (appointmentRepo.existsById(appointmentId)) {
+        Optional<Appointment> appointment = appointmentRepo.findById(appointmentId);
+        if (appointment.isPresent()) {
             appointmentRepo.deleteById(appointmentId);
+            appointmentCapacityService.release(appointment.get().getAppointmentDate().toLocalDate(), 1);
+            appointmentAvailabilityService.onReleased(appointment.get().getAppointmentDate());
+            appointmentCalendarService.onChanged(appointment.get().getAppointmentDate());
+            outboxService.publish(DomainEvent.APPOINTMENT, appointmentId, DomainEvent.APPOINTMENT_DELETED,
+                    DomainEvent.payloadOf(appointment.get()));
+            dashboardStatsService.onAppointmentsRemoved(appointment.get().getStatus(), 1);
             return true;
         } else {
             throw new AppointmentNotFoundException("Appointment not found !"); // throw an exception if appointment not
@@ -144,11 +300,86 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
 
     @Override
-    public void updateAppointmentStatus(int appointmentId, String status) {
-        Appointment appointment = appointmentRepo.findById(appointmentId)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid appointment ID: " + appointmentId));
-        appointment.setStatus(status);
-        appointmentRepo.save(appointment);
+    @Transactional
+    public void updateAppointmentStatus(int appointmentId, AppointmentStatus status, AppointmentStatus expected)
+            throws AppointmentNotFoundException, InvalidStatusTransitionException {
+        List<String> from = status.previousNames();
+        if (expected != null) {
+            from = from.contains(expected.name()) ? List.of(expected.name()) : List.of();
+        }
+        Map<String, Long> before = statusesBefore(List.of(appointmentId), from);
+        if (!from.isEmpty() && appointmentRepo.updateStatus(appointmentId, status.name(), from) == 1) {
+            countStatusChange(before, from, 1, status);
+            onStatusChanged(List.of(appointmentId), status);
+            return;
+        }
+        // Nothing changed: find out why only on this path
+        String current = appointmentRepo.findStatusById(appointmentId)
+                .orElseThrow(() -> new AppointmentNotFoundException("Appointment not found !"));
+        if (current.equals(status.name()) && (expected == null || expected == status)) {
+            return;
+        }
+        throw new InvalidStatusTransitionException(
+                "Cannot change appointment status from " + current + " to " + status.name());
+    }
+
+    @Override
+    @Transactional
+    public BulkStatusResult updateAppointmentStatuses(List<Integer> appointmentIds, AppointmentStatus status) {
+        Set<Integer> ids = new LinkedHashSet<>(appointmentIds);
+        if (ids.isEmpty()) {
+            return new BulkStatusResult(status.name(), 0, List.of());
+        }
+        List<String> from = status.previousNames();
+        // The rows that will move, locked so the update changes exactly these
+        // and only they are counted and published
+        List<Integer> moving = new ArrayList<>();
+        Map<String, Long> before = new HashMap<>();
+        if (!from.isEmpty()) {
+            for (Object[] row : appointmentRepo.lockStatusesByIds(ids, from)) {
+                moving.add(((Number) row[0]).intValue());
+                before.merge((String) row[1], 1L, Long::sum);
+            }
+        }
+        int updated = moving.isEmpty() ? 0 : appointmentRepo.updateStatuses(moving, status.name(), from);
+        countStatusChange(before, from, updated, status);
+        onStatusChanged(moving, status);
+        // Appointments already in the status count as done
+        ids.removeAll(appointmentRepo.findIdsWithStatus(ids, status.name()));
+        return new BulkStatusResult(status.name(), updated, new ArrayList<>(ids));
+    }
+
+    // Statuses the appointments leave, read before the update only when more
+    // than one status can change; null when the update count says it all
+    private Map<String, Long> statusesBefore(Collection<Integer> ids, List<String> from) {
+        if (from.size() <= 1) {
+            return null;
+        }
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : appointmentRepo.countByIdsAndStatuses(ids, from)) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    private void countStatusChange(Map<String, Long> before, List<String> from, int updated,
+            AppointmentStatus status) {
+        if (updated == 0) {
+            return;
+        }
+        if (before == null) {
+            dashboardStatsService.onAppointmentStatusChanged(from.get(0), status.name(), updated);
+        } else {
+            before.forEach((old, count) -> dashboardStatsService.onAppointmentStatusChanged(old, status.name(),
+                    count));
+        }
+    }
+
+    // Publishes the change to the outbox, whose reminder subscriber schedules
+    // approved appointments and cancels the others
+    private void onStatusChanged(List<Integer> appointmentIds, AppointmentStatus status) {
+        outboxService.publishAll(DomainEvent.APPOINTMENT, appointmentIds, DomainEvent.APPOINTMENT_STATUS_CHANGED,
+                id -> Map.of("appointmentId", id, "status", status.name()));
     }
 
     @Override
@@ -0,0 +1,180 @@
+package com.examly.springapp.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.examly.springapp.repository.PetAttachmentRepo;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Content-addressed storage of attachment files on local disk.
+ *
+ * An upload is streamed to a temporary file while its SHA-256 is computed, so
+ * it is never held in memory, and then moved to {@code <dir>/ab/cd/<hash>}
+ * with an atomic rename. Identical files are stored once. A blob is removed
+ * when the last attachment referring to it is gone; moving a blob in and
+ * checking the references before removing one hold the same lock, so an
+ * upload of the same content never loses its blob to a concurrent delete.
+ * The lock is local, so the directory must not be shared between nodes.
+ */
+@Component
+public class AttachmentBlobStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AttachmentBlobStore.class);
+
+    private final PetAttachmentRepo petAttachmentRepo;
+    private final Path root;
+    private final Path tmp;
+    private final Object lock = new Object();
+
+    /**
+     * Constructor to initialize AttachmentBlobStore with its directory and the
+     * repository counting references.
+     *
+     * @param petAttachmentRepo Repository for attachment data access operations
+     * @param dir               Directory the blobs are stored in
+     */
+    public AttachmentBlobStore(PetAttachmentRepo petAttachmentRepo,
+            @Value("${pets.attachments.dir:data/attachments}") String dir) {
+        this.petAttachmentRepo = petAttachmentRepo;
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        this.tmp = root.resolve("tmp");
+    }
+
+    /**
+     * Creates the directories and removes uploads left behind by a crash.
+     *
+     * @throws IOException if the directory cannot be created
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(tmp);
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(tmp)) {
+            for (Path leftover : leftovers) {
+                Files.deleteIfExists(leftover);
+            }
+        }
+    }
+
+    /**
+     * Writes content to a temporary file and hashes it on the way.
+     *
+     * @param content The content, read to its end but not closed
+     * @return the pending blob, to be committed or discarded
+     * @throws IOException if reading or writing fails
+     */
+    public Blob write(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path file = Files.createTempFile(tmp, "upload-", ".part");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            new DigestInputStream(content, digest).transferTo(out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new Blob(file, HexFormat.of().formatHex(digest.digest()), Files.size(file));
+    }
+
+    /**
+     * Moves a written blob to its place, or drops it when the same content is
+     * already stored. Call after the attachment referring to it is committed.
+     *
+     * @param blob The blob returned by write
+     * @throws IOException if the move fails
+     */
+    public void commit(Blob blob) throws IOException {
+        Path target = path(blob.sha256());
+        synchronized (lock) {
+            if (Files.exists(target)) {
+                Files.deleteIfExists(blob.file());
+                return;
+            }
+            Files.createDirectories(target.getParent());
+            Files.move(blob.file(), target, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /**
+     * Deletes a written blob that will not be committed.
+     *
+     * @param blob The blob returned by write
+     */
+    public void discard(Blob blob) {
+        try {
+            Files.deleteIfExists(blob.file());
+        } catch (IOException e) {
+            LOG.warn("Could not delete upload {}", blob.file(), e);
+        }
+    }
+
+    /**
+     * Deletes the blobs no attachment refers to any more. Call after the
+     * attachments were deleted and committed.
+     *
+     * @param hashes The hashes of the deleted attachments
+     */
+    public void release(Collection<String> hashes) {
+        if (hashes.isEmpty()) {
+            return;
+        }
+        synchronized (lock) {
+            Set<String> unused = new HashSet<>(hashes);
+            unused.removeAll(petAttachmentRepo.findReferencedSha256(unused));
+            for (String hash : unused) {
+                try {
+                    Files.deleteIfExists(path(hash));
+                } catch (IOException e) {
+                    LOG.warn("Could not delete attachment blob {}", hash, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the file of a stored blob.
+     *
+     * @param sha256 The hex SHA-256 of the content
+     * @return the path of the blob
+     */
+    public Path path(String sha256) {
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A written but not yet committed upload.
+     *
+     * @param file   The temporary file
+     * @param sha256 The hex SHA-256 of the content
+     * @param size   The length of the content in bytes
+     */
+    public record Blob(Path file, String sha256, long size) {
+    }
+}
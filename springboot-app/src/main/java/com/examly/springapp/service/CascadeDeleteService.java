@@ -0,0 +1,157 @@
+package com.examly.springapp.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.examly.springapp.model.AppointmentRef;
+import com.examly.springapp.model.DomainEvent;
+import com.examly.springapp.model.FeedbackRef;
+import com.examly.springapp.model.PetView;
+import com.examly.springapp.repository.AppointmentRepo;
+import com.examly.springapp.repository.FeedbackRepo;
+import com.examly.springapp.repository.PetRepo;
+import com.examly.springapp.repository.UserRepo;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Removes a pet or a user together with everything that references it.
+ *
+ * Every step is one set-based statement: the capacity ledger is released with
+ * a single join update, then feedback, appointments, attachments, pets and
+ * the user are deleted through subqueries. The number of round trips does not depend on
+ * how many appointments or feedback entries are removed. The removed
+ * appointments and feedback are read once, as projections, to keep the
+ * in-memory views and the outbox in step.
+ */
+@Service
+public class CascadeDeleteService {
+
+    private final UserRepo userRepo;
+    private final PetRepo petRepo;
+    private final AppointmentRepo appointmentRepo;
+    private final FeedbackRepo feedbackRepo;
+    private final AppointmentCapacityService appointmentCapacityService;
+    private final AppointmentAvailabilityService appointmentAvailabilityService;
+    private final AppointmentCalendarService appointmentCalendarService;
+    private final OutboxService outboxService;
+    private final DashboardStatsService dashboardStatsService;
+    private final PetAttachmentService petAttachmentService;
+
+    /**
+     * Constructor to initialize CascadeDeleteService with the necessary
+     * dependencies.
+     *
+     * @param userRepo                       Repository for user deletes
+     * @param petRepo                        Repository for pet deletes
+     * @param appointmentRepo                Repository for appointment deletes
+     * @param feedbackRepo                   Repository for feedback deletes
+     * @param appointmentCapacityService     Ledger the bookings are given back
+     *                                       to
+     * @param appointmentAvailabilityService Slot availability kept in step with
+     *                                       writes
+     * @param appointmentCalendarService     Per-day counts kept in step with
+     *                                       writes
+     * @param outboxService                  Outbox the deleted events are
+     *                                       written to
+     * @param dashboardStatsService          Dashboard counts of the removed
+     *                                       pets and appointments
+     * @param petAttachmentService           Files attached to the removed pets
+     */
+    public CascadeDeleteService(UserRepo userRepo, PetRepo petRepo, AppointmentRepo appointmentRepo,
+            FeedbackRepo feedbackRepo, AppointmentCapacityService appointmentCapacityService,
+            AppointmentAvailabilityService appointmentAvailabilityService,
+            AppointmentCalendarService appointmentCalendarService,
+            OutboxService outboxService, DashboardStatsService dashboardStatsService,
+            PetAttachmentService petAttachmentService) {
+        this.userRepo = userRepo;
+        this.petRepo = petRepo;
+        this.appointmentRepo = appointmentRepo;
+        this.feedbackRepo = feedbackRepo;
+        this.appointmentCapacityService = appointmentCapacityService;
+        this.appointmentAvailabilityService = appointmentAvailabilityService;
+        this.appointmentCalendarService = appointmentCalendarService;
+        this.outboxService = outboxService;
+        this.dashboardStatsService = dashboardStatsService;
+        this.petAttachmentService = petAttachmentService;
+    }
+
+    /**
+     * Deletes a pet with its appointments, their feedback and its attachments.
+     *
+     * @param petId The ID of the pet
+     * @return true if the pet existed and was deleted
+     */
+    @Transactional
+    public boolean deletePet(int petId) {
+        // Usually served from the second-level cache
+        List<PetView> pets = petRepo.findById(petId).map(PetView::of).stream().toList();
+        List<AppointmentRef> appointments = appointmentRepo.findRefsByPetId(petId);
+        List<FeedbackRef> feedback = feedbackRepo.findRefsByPetId(petId);
+        appointmentCapacityService.releaseAllForPet(petId);
+        feedbackRepo.deleteAllByPetId(petId);
+        appointmentRepo.deleteAllByPetId(petId);
+        petAttachmentService.deleteAllForPet(petId);
+        boolean deleted = petRepo.deletePet(petId) == 1;
+        dashboardStatsService.onPetsRemoved(pets);
+        onRemoved(appointments);
+        onFeedbackRemoved(feedback);
+        return deleted;
+    }
+
+    /**
+     * Deletes a user with their pets, the appointments booked by them or for
+     * their pets, the feedback on those appointments or written by them, and
+     * the attachments of their pets.
+     *
+     * @param userId The ID of the user
+     * @return true if the user existed and was deleted
+     */
+    @Transactional
+    public boolean deleteUser(int userId) {
+        List<PetView> pets = petRepo.findPetViewsByUserId(userId);
+        List<AppointmentRef> appointments = appointmentRepo.findRefsByUserId(userId);
+        List<FeedbackRef> feedback = feedbackRepo.findRefsByUserId(userId);
+        appointmentCapacityService.releaseAllForUser(userId);
+        feedbackRepo.deleteAllByUserId(userId);
+        appointmentRepo.deleteAllByUserId(userId);
+        petAttachmentService.deleteAllForUser(userId);
+        petRepo.deleteAllByUserId(userId);
+        boolean deleted = userRepo.deleteUser(userId) == 1;
+        dashboardStatsService.onPetsRemoved(pets);
+        onRemoved(appointments);
+        onFeedbackRemoved(feedback);
+        return deleted;
+    }
+
+    // Updates the caches after commit and publishes one deleted event per
+    // appointment, which also cancels its reminders
+    private void onRemoved(List<AppointmentRef> appointments) {
+        if (appointments.isEmpty()) {
+            return;
+        }
+        appointments.stream().map(AppointmentRef::appointmentDate).distinct().forEach(appointmentDate -> {
+            appointmentAvailabilityService.onReleased(appointmentDate);
+            appointmentCalendarService.onChanged(appointmentDate);
+        });
+        Map<Integer, AppointmentRef> removed = appointments.stream()
+                .collect(Collectors.toMap(AppointmentRef::appointmentId, Function.identity()));
+        appointments.stream().collect(Collectors.groupingBy(AppointmentRef::status, Collectors.counting()))
+                .forEach(dashboardStatsService::onAppointmentsRemoved);
+        outboxService.publishAll(DomainEvent.APPOINTMENT, removed.keySet(), DomainEvent.APPOINTMENT_DELETED,
+                id -> DomainEvent.payloadOf(removed.get(id)));
+    }
+
+    // Publishes one deleted event per feedback entry, as deleting a single
+    // entry does
+    private void onFeedbackRemoved(List<FeedbackRef> feedback) {
+        Map<Integer, FeedbackRef> removed = feedback.stream()
+                .collect(Collectors.toMap(FeedbackRef::feedbackId, Function.identity()));
+        outboxService.publishAll(DomainEvent.FEEDBACK, removed.keySet(), DomainEvent.FEEDBACK_DELETED,
+                id -> DomainEvent.payloadOf(removed.get(id)));
+    }
+}
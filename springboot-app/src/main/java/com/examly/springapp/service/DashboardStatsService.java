@@ -0,0 +1,242 @@
+package com.examly.springapp.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.examly.springapp.model.DashboardStats;
+import com.examly.springapp.model.PetView;
+import com.examly.springapp.repository.AppointmentRepo;
+import com.examly.springapp.repository.PetRepo;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Keeps the admin dashboard counts as in-memory rollups: pets per species,
+ * breed and health status, and appointments per status.
+ *
+ * The pet and appointment write paths report their changes here, applied once
+ * their transaction commits, so reading the dashboard never touches the
+ * tables. The rollups are recomputed with GROUP BY queries at startup and
+ * periodically, which corrects drift from writes on other nodes or from races
+ * with a running recount.
+ */
+@Service
+public class DashboardStatsService implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DashboardStatsService.class);
+
+    // Key of rows whose column is null
+    private static final String NONE = "(none)";
+
+    private final PetRepo petRepo;
+    private final AppointmentRepo appointmentRepo;
+    private final long reconcileIntervalMillis;
+    private final ScheduledExecutorService executor;
+
+    private volatile Rollups rollups = new Rollups();
+    private volatile LocalDateTime reconciledAt;
+
+    /**
+     * Constructor to initialize DashboardStatsService with the reconcile
+     * setting and its dependencies.
+     *
+     * @param petRepo                  Repository for the pet rollups
+     * @param appointmentRepo          Repository for the appointment rollups
+     * @param reconcileIntervalMinutes How often the counts are recomputed from
+     *                                 the database
+     */
+    public DashboardStatsService(PetRepo petRepo, AppointmentRepo appointmentRepo,
+            @Value("${stats.reconcile-interval-minutes:15}") long reconcileIntervalMinutes) {
+        this.petRepo = petRepo;
+        this.appointmentRepo = appointmentRepo;
+        this.reconcileIntervalMillis = TimeUnit.MINUTES.toMillis(reconcileIntervalMinutes);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        executor.scheduleWithFixedDelay(this::reconcileLogged, 0, reconcileIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns the current dashboard counts.
+     *
+     * @return the counts, sorted by key
+     */
+    public DashboardStats getStats() {
+        Rollups current = rollups;
+        return new DashboardStats(current.pets.get(), current.appointments.get(), snapshot(current.petsBySpecies),
+                snapshot(current.petsByBreed), snapshot(current.petsByStatus),
+                snapshot(current.appointmentsByStatus), reconciledAt);
+    }
+
+    /**
+     * Counts an added pet once the current transaction commits.
+     *
+     * @param pet The saved pet
+     */
+    public void onPetAdded(PetView pet) {
+        AfterCommit.run(() -> rollups.addPet(pet, 1));
+    }
+
+    /**
+     * Counts added pets once the current transaction commits.
+     *
+     * @param pets The saved pets
+     */
+    public void onPetsAdded(List<PetView> pets) {
+        if (!pets.isEmpty()) {
+            AfterCommit.run(() -> pets.forEach(pet -> rollups.addPet(pet, 1)));
+        }
+    }
+
+    /**
+     * Moves an updated pet between its old and new keys once the current
+     * transaction commits.
+     *
+     * @param before The pet as it was loaded
+     * @param after  The pet as it was saved
+     */
+    public void onPetChanged(PetView before, PetView after) {
+        AfterCommit.run(() -> {
+            Rollups current = rollups;
+            current.addPet(before, -1);
+            current.addPet(after, 1);
+        });
+    }
+
+    /**
+     * Uncounts removed pets once the current transaction commits.
+     *
+     * @param pets The deleted pets
+     */
+    public void onPetsRemoved(List<PetView> pets) {
+        if (!pets.isEmpty()) {
+            AfterCommit.run(() -> pets.forEach(pet -> rollups.addPet(pet, -1)));
+        }
+    }
+
+    /**
+     * Counts added appointments once the current transaction commits.
+     *
+     * @param status The status of the appointments
+     * @param count  The number of appointments
+     */
+    public void onAppointmentsAdded(String status, long count) {
+        if (count != 0) {
+            AfterCommit.run(() -> rollups.addAppointments(status, count));
+        }
+    }
+
+    /**
+     * Uncounts removed appointments once the current transaction commits.
+     *
+     * @param status The status of the appointments
+     * @param count  The number of appointments
+     */
+    public void onAppointmentsRemoved(String status, long count) {
+        onAppointmentsAdded(status, -count);
+    }
+
+    /**
+     * Moves appointments between two statuses once the current transaction
+     * commits.
+     *
+     * @param from  The old status
+     * @param to    The new status
+     * @param count The number of appointments
+     */
+    public void onAppointmentStatusChanged(String from, String to, long count) {
+        if (count != 0 && !key(from).equals(key(to))) {
+            AfterCommit.run(() -> {
+                Rollups current = rollups;
+                current.appointmentsByStatus.merge(key(from), -count, Long::sum);
+                current.appointmentsByStatus.merge(key(to), count, Long::sum);
+            });
+        }
+    }
+
+    private void reconcileLogged() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            LOG.warn("Reconciling the dashboard statistics failed", e);
+        }
+    }
+
+    // Rebuilds the rollups from the database and swaps them in
+    private void reconcile() {
+        Rollups fresh = new Rollups();
+        load(petRepo.countBySpecies(), fresh.petsBySpecies);
+        load(petRepo.countByBreed(), fresh.petsByBreed);
+        load(petRepo.countByStatus(), fresh.petsByStatus);
+        load(appointmentRepo.countByStatus(), fresh.appointmentsByStatus);
+        fresh.pets.set(fresh.petsByStatus.values().stream().mapToLong(Long::longValue).sum());
+        fresh.appointments.set(fresh.appointmentsByStatus.values().stream().mapToLong(Long::longValue).sum());
+        rollups = fresh;
+        reconciledAt = LocalDateTime.now();
+    }
+
+    private static void load(List<Object[]> rows, Map<String, Long> counts) {
+        for (Object[] row : rows) {
+            counts.merge(key((String) row[0]), ((Number) row[1]).longValue(), Long::sum);
+        }
+    }
+
+    private static Map<String, Long> snapshot(Map<String, Long> counts) {
+        Map<String, Long> copy = new TreeMap<>();
+        counts.forEach((key, count) -> {
+            if (count > 0) {
+                copy.put(key, count);
+            }
+        });
+        return copy;
+    }
+
+    private static String key(String value) {
+        return value == null ? NONE : value;
+    }
+
+    private static final class Rollups {
+        private final AtomicLong pets = new AtomicLong();
+        private final AtomicLong appointments = new AtomicLong();
+        private final Map<String, Long> petsBySpecies = new ConcurrentHashMap<>();
+        private final Map<String, Long> petsByBreed = new ConcurrentHashMap<>();
+        private final Map<String, Long> petsByStatus = new ConcurrentHashMap<>();
+        private final Map<String, Long> appointmentsByStatus = new ConcurrentHashMap<>();
+
+        private void addPet(PetView pet, long delta) {
+            pets.addAndGet(delta);
+            petsBySpecies.merge(key(pet.species()), delta, Long::sum);
+            petsByBreed.merge(key(pet.breed()), delta, Long::sum);
+            petsByStatus.merge(key(pet.status()), delta, Long::sum);
+        }
+
+        private void addAppointments(String status, long delta) {
+            appointments.addAndGet(delta);
+            appointmentsByStatus.merge(key(status), delta, Long::sum);
+        }
+    }
+}
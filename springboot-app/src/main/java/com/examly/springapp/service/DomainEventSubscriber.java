@@ -0,0 +1,21 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.DomainEvent;
+
+/**
+ * Receives the domain events relayed from the outbox. Every bean implementing
+ * this interface receives every event and picks the types it cares about.
+ *
+ * Delivery is at least once: when any subscriber throws, the event is retried
+ * later for all of them, so handling must be idempotent. Events of different
+ * entities, and retried events, may arrive out of order.
+ */
+public interface DomainEventSubscriber {
+
+    /**
+     * Handles an event. Called on the relay thread inside its transaction.
+     *
+     * @param event The event
+     */
+    void onEvent(DomainEvent event);
+}
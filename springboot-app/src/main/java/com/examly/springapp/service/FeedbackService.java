@@ -4,6 +4,7 @@ import java.util.List;
 
 import com.examly.springapp.exception.FeedbackAlreadyExistException;
 import com.examly.springapp.model.Feedback;
+import com.examly.springapp.model.FeedbackView;
 
 /**
  * Service interface for handling feedback-related operations.
@@ -16,7 +17,7 @@ public interface FeedbackService {
      * @return A list of all feedbacks
      */
 
-    List<Feedback> getAllFeedbacks();
+    List<FeedbackView> getAllFeedbacks();
 
     /**
      * Adds new feedback.
@@ -32,7 +33,7 @@ public interface FeedbackService {
      * @param userId The ID of the user whose feedbacks are to be retrieved
      * @return A list of feedbacks belonging to the specified user
      */
-    List<Feedback> getFeedbacksByUserId(int userId);
+    List<FeedbackView> getFeedbacksByUserId(int userId);
 
     /**
      * Deletes feedback by feedback ID.
@@ -6,13 +6,17 @@ import java.util.Optional;
 import org.springframework.stereotype.Service;
 
 import com.examly.springapp.model.Appointment;
+import com.examly.springapp.model.DomainEvent;
 import com.examly.springapp.model.Feedback;
+import com.examly.springapp.model.FeedbackView;
 import com.examly.springapp.model.User;
 import com.examly.springapp.repository.AppointmentRepo;
 import com.examly.springapp.repository.FeedbackRepo;
 import com.examly.springapp.repository.UserRepo;
 import com.examly.springapp.exception.FeedbackAlreadyExistException;
 
+import jakarta.transaction.Transactional;
+
 /**
  * Implementation of the FeedbackService interface, providing methods to handle
  * feedback-related operations such as adding, retrieving, and deleting
@@ -24,16 +28,20 @@ public class FeedbackServiceImpl implements FeedbackService {
     private FeedbackRepo feedbackRepo;
     private UserRepo userRepo;
     private AppointmentRepo appointmentRepo;
+    private OutboxService outboxService;
 
     /**
      * Constructor to initialize FeedbackServiceImpl with the necessary dependency.
      *
-     * @param feedbackRepo Repository for feedback data access operations
+     * @param feedbackRepo  Repository for feedback data access operations
+     * @param outboxService Outbox the feedback events are written to
      */
-    public FeedbackServiceImpl(FeedbackRepo feedbackRepo, UserRepo userRepo, AppointmentRepo appointmentRepo) {
+    public FeedbackServiceImpl(FeedbackRepo feedbackRepo, UserRepo userRepo, AppointmentRepo appointmentRepo,
+            OutboxService outboxService) {
         this.userRepo = userRepo;
         this.feedbackRepo = feedbackRepo;
         this.appointmentRepo = appointmentRepo;
+        this.outboxService = outboxService;
     }
 
     /**
@@ -42,8 +50,8 @@ public class FeedbackServiceImpl implements FeedbackService {
      * @return A list of all feedbacks
      */
     @Override
-    public List<Feedback> getAllFeedbacks() {
-        return feedbackRepo.findAll();
+    public List<FeedbackView> getAllFeedbacks() {
+        return feedbackRepo.findAllViews();
     }
 
     /**
@@ -53,13 +61,17 @@ public class FeedbackServiceImpl implements FeedbackService {
      * @return The added feedback
      */
     @Override
+    @Transactional
     public Feedback addFeedback(Feedback feedback) throws FeedbackAlreadyExistException {
 
         Optional<User> user = userRepo.findById(feedback.getUser().getUserId());
         // .orElseThrow(() -> new RuntimeException("User not found"));
         Appointment appointment = appointmentRepo.findById(feedback.getAppointment().getAppointmentId())
                 .orElseThrow(() -> new RuntimeException("Appointment not found"));
-        return feedbackRepo.save(feedback);
+        Feedback savedFeedback = feedbackRepo.save(feedback);
+        outboxService.publish(DomainEvent.FEEDBACK, savedFeedback.getFeedbackId(), DomainEvent.FEEDBACK_CREATED,
+                DomainEvent.payloadOf(savedFeedback));
+        return savedFeedback;
     }
 
     /**
@@ -69,8 +81,8 @@ public class FeedbackServiceImpl implements FeedbackService {
      * @return A list of feedbacks belonging to the specified user
      */
     @Override
-    public List<Feedback> getFeedbacksByUserId(int userId) {
-        return feedbackRepo.findByUser(userId);
+    public List<FeedbackView> getFeedbacksByUserId(int userId) {
+        return feedbackRepo.findViewsByUserId(userId);
     }
 
     /**
@@ -81,9 +93,13 @@ public class FeedbackServiceImpl implements FeedbackService {
      * @return true if the feedback was successfully deleted, false otherwise
      */
     @Override
+    @Transactional
     public boolean deleteFeedbackByFeedbackId(int feedbackId) {
-        if (feedbackRepo.existsById(feedbackId)) {
+        Optional<Feedback> feedback = feedbackRepo.findById(feedbackId);
+        if (feedback.isPresent()) {
             feedbackRepo.deleteById(feedbackId);
+            outboxService.publish(DomainEvent.FEEDBACK, feedbackId, DomainEvent.FEEDBACK_DELETED,
+                    DomainEvent.payloadOf(feedback.get()));
             return true;
         }
         return false;
@@ -0,0 +1,23 @@
+package com.examly.springapp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.examly.springapp.model.Reminder;
+
+/**
+ * Default ReminderSender that writes reminders to the application log.
+ */
+@Component
+public class LoggingReminderSender implements ReminderSender {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoggingReminderSender.class);
+
+    @Override
+    public void send(Reminder reminder) {
+        LOG.info("Reminder ({} before): appointment {} for {} at {} to {}", reminder.lead(),
+                reminder.target().appointmentId(), reminder.target().petName(),
+                reminder.target().appointmentDate(), reminder.target().email());
+    }
+}
@@ -0,0 +1,176 @@
+package com.examly.springapp.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.examly.springapp.model.DomainEvent;
+import com.examly.springapp.model.OutboxEvent;
+import com.examly.springapp.repository.OutboxEventRepo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Drains the outbox to the DomainEventSubscriber beans on a background thread.
+ *
+ * Events are locked in batches with SKIP LOCKED, so relays on several nodes
+ * share the work, handed to every subscriber and deleted in the same
+ * transaction. An event whose delivery failed stays in the outbox and is
+ * retried with exponential backoff, up to a maximum number of attempts after
+ * which it is kept for inspection. The relay runs when a publishing
+ * transaction commits and on a fixed interval for retries and events from
+ * other nodes. A node without subscribers does not relay at all, so events
+ * stay in the outbox instead of being deleted undelivered.
+ */
+@Service
+public class OutboxRelay implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OutboxRelay.class);
+
+    // Longest wait between two attempts of a failing event
+    private static final long MAX_BACKOFF_SECONDS = 300;
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private final OutboxEventRepo outboxEventRepo;
+    private final List<DomainEventSubscriber> subscribers;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pollIntervalMillis;
+    private final int maxAttempts;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean wakeUpQueued = new AtomicBoolean();
+    private final Counter delivered;
+    private final Counter failed;
+
+    /**
+     * Constructor to initialize OutboxRelay with the relay settings and its
+     * dependencies.
+     *
+     * @param outboxEventRepo    Repository for the outbox
+     * @param subscribers        The subscribers each event is handed to
+     * @param transactionManager Manager of the relay transactions
+     * @param objectMapper       Mapper used for the payloads
+     * @param registry           The registry the relay metrics are published to
+     * @param enabled            Whether this node relays events, provided it
+     *                           has subscribers
+     * @param batchSize          The number of events locked per transaction
+     * @param pollIntervalMillis The time between two scheduled runs
+     * @param maxAttempts        The number of failed attempts after which an
+     *                           event is no longer retried
+     */
+    public OutboxRelay(OutboxEventRepo outboxEventRepo, List<DomainEventSubscriber> subscribers,
+            PlatformTransactionManager transactionManager, ObjectMapper objectMapper, MeterRegistry registry,
+            @Value("${outbox.relay.enabled:true}") boolean enabled,
+            @Value("${outbox.relay.batch-size:100}") int batchSize,
+            @Value("${outbox.relay.poll-interval-millis:1000}") long pollIntervalMillis,
+            @Value("${outbox.relay.max-attempts:10}") int maxAttempts) {
+        this.outboxEventRepo = outboxEventRepo;
+        this.subscribers = subscribers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.enabled = enabled && !subscribers.isEmpty();
+        if (enabled && subscribers.isEmpty()) {
+            LOG.warn("No DomainEventSubscriber beans, outbox events are not relayed by this node");
+        }
+        this.batchSize = batchSize;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.maxAttempts = maxAttempts;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.delivered = Counter.builder("outbox.delivered").register(registry);
+        this.failed = Counter.builder("outbox.failed").register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            executor.scheduleWithFixedDelay(this::drain, pollIntervalMillis, pollIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Schedules a run soon, coalescing wake-ups that arrive while one is
+     * queued.
+     */
+    public void wakeUp() {
+        if (enabled && wakeUpQueued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                wakeUpQueued.set(false);
+                drain();
+            });
+        }
+    }
+
+    // Relays full batches until the outbox has no deliverable events left
+    private void drain() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (RuntimeException e) {
+            LOG.warn("Outbox relay failed", e);
+        }
+    }
+
+    private int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepo.lockNextBatch(now, maxAttempts, batchSize);
+        List<Long> done = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            try {
+                DomainEvent domainEvent = new DomainEvent(event.getId(), event.getAggregateType(),
+                        event.getAggregateId(), event.getEventType(),
+                        objectMapper.readValue(event.getPayload(), PAYLOAD_TYPE), event.getCreatedAt());
+                for (DomainEventSubscriber subscriber : subscribers) {
+                    subscriber.onEvent(domainEvent);
+                }
+                done.add(event.getId());
+            } catch (RuntimeException | JsonProcessingException e) {
+                // Left in the outbox, the entity change is flushed on commit
+                event.setAttempts(event.getAttempts() + 1);
+                event.setAvailableAt(now.plusSeconds(Math.min(1L << Math.min(event.getAttempts(), 20),
+                        MAX_BACKOFF_SECONDS)));
+                failed.increment();
+                LOG.warn("Delivery of outbox event {} ({}) failed, attempt {}", event.getId(), event.getEventType(),
+                        event.getAttempts(), e);
+            }
+        }
+        if (!done.isEmpty()) {
+            outboxEventRepo.deleteByIds(done);
+            delivered.increment(done.size());
+        }
+        return events.size();
+    }
+}
@@ -0,0 +1,91 @@
+package com.examly.springapp.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Writes domain events to the outbox table in the caller's transaction, so an
+ * event exists exactly when the change it describes was committed. OutboxRelay
+ * delivers them afterwards, off the request thread.
+ */
+@Service
+public class OutboxService {
+
+    private static final String INSERT_SQL = "INSERT INTO outbox_event "
+            + "(aggregate_type, aggregate_id, event_type, payload, created_at, available_at, attempts) "
+            + "VALUES (?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxRelay outboxRelay;
+
+    /**
+     * Constructor to initialize OutboxService with the necessary dependencies.
+     *
+     * @param jdbcTemplate Template writing the events in the current transaction
+     * @param objectMapper Mapper used for the payloads
+     * @param outboxRelay  Relay woken up once the events are committed
+     */
+    public OutboxService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, OutboxRelay outboxRelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.outboxRelay = outboxRelay;
+    }
+
+    /**
+     * Publishes an event about one entity.
+     *
+     * @param aggregateType The kind of entity, e.g. Appointment
+     * @param aggregateId   The ID of the entity
+     * @param eventType     The event name
+     * @param payload       The event details
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void publish(String aggregateType, int aggregateId, String eventType, Map<String, Object> payload) {
+        publishAll(aggregateType, List.of(aggregateId), eventType, id -> payload);
+    }
+
+    /**
+     * Publishes one event per entity with a single batch insert.
+     *
+     * @param aggregateType The kind of entity, e.g. Appointment
+     * @param aggregateIds  The IDs of the entities
+     * @param eventType     The event name
+     * @param payloads      The event details of each ID
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void publishAll(String aggregateType, Collection<Integer> aggregateIds, String eventType,
+            Function<Integer, Map<String, Object>> payloads) {
+        if (aggregateIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(aggregateIds.size());
+        for (int id : aggregateIds) {
+            rows.add(new Object[] { aggregateType, id, eventType, toJson(payloads.apply(id)), now, now });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        AfterCommit.run(outboxRelay::wakeUp);
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event payload is not serializable", e);
+        }
+    }
+}
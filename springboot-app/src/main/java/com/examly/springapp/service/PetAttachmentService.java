@@ -0,0 +1,221 @@
+package com.examly.springapp.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import com.examly.springapp.exception.PetNotFoundException;
+import com.examly.springapp.model.PetAttachment;
+import com.examly.springapp.model.PetAttachmentView;
+import com.examly.springapp.repository.PetAttachmentRepo;
+import com.examly.springapp.repository.PetRepo;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Stores files attached to pets, such as X-rays, vaccination certificates and
+ * photos.
+ *
+ * The metadata is kept in the pet_attachment table and the content in
+ * AttachmentBlobStore. An upload is written to disk before its row is saved,
+ * and its blob is put in place once the row is committed; a blob is removed
+ * after the commit that deleted its last attachment.
+ */
+@Service
+public class PetAttachmentService {
+
+    private static final int MAX_FILE_NAME_LENGTH = 255;
+    private static final int MAX_CONTENT_TYPE_LENGTH = 100;
+
+    private final PetRepo petRepo;
+    private final PetAttachmentRepo petAttachmentRepo;
+    private final AttachmentBlobStore attachmentBlobStore;
+    private final List<MediaType> allowedTypes;
+
+    /**
+     * Constructor to initialize PetAttachmentService with the accepted media
+     * types and its dependencies.
+     *
+     * @param petRepo             Repository checking the pets exist
+     * @param petAttachmentRepo   Repository for attachment data access
+     *                            operations
+     * @param attachmentBlobStore Disk storage of the content
+     * @param allowedTypes        Media types accepted for upload, wildcards
+     *                            allowed
+     */
+    public PetAttachmentService(PetRepo petRepo, PetAttachmentRepo petAttachmentRepo,
+            AttachmentBlobStore attachmentBlobStore,
+            @Value("${pets.attachments.allowed-types:image/*,application/pdf,application/dicom}") String allowedTypes) {
+        this.petRepo = petRepo;
+        this.petAttachmentRepo = petAttachmentRepo;
+        this.attachmentBlobStore = attachmentBlobStore;
+        this.allowedTypes = Arrays.stream(allowedTypes.split(",")).map(String::trim).filter(s -> !s.isEmpty())
+                .map(MediaType::parseMediaType).toList();
+    }
+
+    /**
+     * Tells whether files of a media type may be attached.
+     *
+     * @param contentType The media type of the upload, may be null
+     * @return true if the type is accepted
+     */
+    public boolean isAllowedType(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType type = MediaType.parseMediaType(contentType);
+            return allowedTypes.stream().anyMatch(allowed -> allowed.includes(type));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Attaches a file to a pet. Must not be called inside a transaction, the
+     * blob is put in place once the attachment is committed.
+     *
+     * @param petId       The ID of the pet
+     * @param fileName    The name of the uploaded file, may be null
+     * @param contentType An accepted media type of the file
+     * @param content     The content, read as a stream
+     * @return the stored attachment
+     * @throws PetNotFoundException if the pet does not exist
+     * @throws IOException          if the content cannot be read or stored
+     */
+    public PetAttachmentView addAttachment(int petId, String fileName, String contentType, InputStream content)
+            throws PetNotFoundException, IOException {
+        if (!petRepo.existsById(petId)) {
+            throw new PetNotFoundException("Pet with petId " + petId + " not found");
+        }
+        AttachmentBlobStore.Blob blob = attachmentBlobStore.write(content);
+        PetAttachment attachment = new PetAttachment();
+        attachment.setPet(petRepo.getReferenceById(petId));
+        attachment.setFileName(cleanFileName(fileName));
+        attachment.setContentType(truncate(MediaType.parseMediaType(contentType).toString(),
+                MAX_CONTENT_TYPE_LENGTH));
+        attachment.setSizeBytes(blob.size());
+        attachment.setSha256(blob.sha256());
+        attachment.setCreatedAt(LocalDateTime.now());
+        PetAttachment saved;
+        try {
+            saved = petAttachmentRepo.save(attachment);
+        } catch (RuntimeException e) {
+            attachmentBlobStore.discard(blob);
+            throw e;
+        }
+        try {
+            attachmentBlobStore.commit(blob);
+        } catch (IOException | RuntimeException e) {
+            attachmentBlobStore.discard(blob);
+            petAttachmentRepo.deleteById(saved.getAttachmentId());
+            throw e;
+        }
+        return new PetAttachmentView(saved.getAttachmentId(), petId, saved.getFileName(), saved.getContentType(),
+                saved.getSizeBytes(), saved.getSha256(), saved.getCreatedAt());
+    }
+
+    /**
+     * Lists the attachments of a pet.
+     *
+     * @param petId The ID of the pet
+     * @return the attachments, oldest first
+     * @throws PetNotFoundException if the pet does not exist
+     */
+    public List<PetAttachmentView> getAttachments(int petId) throws PetNotFoundException {
+        if (!petRepo.existsById(petId)) {
+            throw new PetNotFoundException("Pet with petId " + petId + " not found");
+        }
+        return petAttachmentRepo.findViewsByPetId(petId);
+    }
+
+    /**
+     * Returns one attachment of a pet.
+     *
+     * @param petId        The ID of the pet
+     * @param attachmentId The ID of the attachment
+     * @return the attachment, or null if the pet has no such attachment
+     */
+    public PetAttachmentView getAttachment(int petId, int attachmentId) {
+        return petAttachmentRepo.findView(petId, attachmentId).orElse(null);
+    }
+
+    /**
+     * Returns the file holding the content of an attachment.
+     *
+     * @param attachment The attachment
+     * @return the path of its blob
+     */
+    public Path getContent(PetAttachmentView attachment) {
+        return attachmentBlobStore.path(attachment.sha256());
+    }
+
+    /**
+     * Deletes an attachment of a pet, and its blob when no other attachment
+     * has the same content.
+     *
+     * @param petId        The ID of the pet
+     * @param attachmentId The ID of the attachment
+     * @return true if the attachment existed and was deleted
+     */
+    @Transactional
+    public boolean deleteAttachment(int petId, int attachmentId) {
+        PetAttachmentView attachment = getAttachment(petId, attachmentId);
+        if (attachment == null || petAttachmentRepo.deleteAttachment(attachmentId) != 1) {
+            return false;
+        }
+        AfterCommit.run(() -> attachmentBlobStore.release(List.of(attachment.sha256())));
+        return true;
+    }
+
+    /**
+     * Deletes the attachments of a pet that is being deleted.
+     *
+     * @param petId The ID of the pet
+     */
+    @Transactional
+    public void deleteAllForPet(int petId) {
+        List<String> hashes = petAttachmentRepo.findSha256ByPetId(petId);
+        if (!hashes.isEmpty()) {
+            petAttachmentRepo.deleteAllByPetId(petId);
+            AfterCommit.run(() -> attachmentBlobStore.release(hashes));
+        }
+    }
+
+    /**
+     * Deletes the attachments of the pets of a user that is being deleted.
+     *
+     * @param userId The ID of the user
+     */
+    @Transactional
+    public void deleteAllForUser(int userId) {
+        List<String> hashes = petAttachmentRepo.findSha256ByUserId(userId);
+        if (!hashes.isEmpty()) {
+            petAttachmentRepo.deleteAllByUserId(userId);
+            AfterCommit.run(() -> attachmentBlobStore.release(hashes));
+        }
+    }
+
+    // Keeps the last path segment of a client file name, without control
+    // characters
+    private static String cleanFileName(String fileName) {
+        if (fileName == null) {
+            return "attachment";
+        }
+        String name = fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1)
+                .replaceAll("\\p{Cntrl}", "").trim();
+        return name.isEmpty() ? "attachment" : truncate(name, MAX_FILE_NAME_LENGTH);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
@@ -0,0 +1,473 @@
+package com.examly.springapp.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.examly.springapp.config.ExpiringCache;
+import com.examly.springapp.model.Pet;
+import com.examly.springapp.model.PetImportError;
+import com.examly.springapp.model.PetImportJob;
+import com.examly.springapp.model.PetImportRow;
+import com.examly.springapp.model.PetView;
+import com.examly.springapp.model.User;
+import com.examly.springapp.repository.UserRepo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Imports pets from a CSV or NDJSON upload.
+ *
+ * The upload is read as a stream, one batch of rows at a time, so memory use
+ * does not depend on the file size. For each batch the owners are resolved by
+ * email with one IN query (emails already seen are remembered for the rest of
+ * the import), the rows are validated in parallel with the Pet constraints and
+ * the valid ones are written with one JDBC batch insert in their own
+ * transaction. Invalid rows are reported and skipped; the import goes on.
+ *
+ * Each import is a job created first and then fed its data, so its progress
+ * can be read while the upload is still running.
+ */
+@Service
+public class PetImportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PetImportService.class);
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    private static final String INSERT_SQL = "INSERT INTO pet "
+            + "(name, species, breed, date_of_birth, status, user_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "species", "breed", "dateofbirth",
+            "owneremail");
+
+    // Longest CSV record accepted; an unterminated quote would otherwise
+    // buffer the rest of the upload as one field
+    private static final int MAX_RECORD_CHARS = 64 * 1024;
+
+    // Jobs kept for reading their report
+    private static final int MAX_JOBS = 100;
+    private static final long JOB_TTL_MILLIS = 24L * 60 * 60 * 1000;
+
+    private final UserRepo userRepo;
+    private final PetSearchIndex petSearchIndex;
+    private final DashboardStatsService dashboardStatsService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxErrors;
+    private final ExpiringCache<String, Job> jobs = new ExpiringCache<>(MAX_JOBS, JOB_TTL_MILLIS);
+
+    /**
+     * Constructor to initialize PetImportService with the import settings and
+     * its dependencies.
+     *
+     * @param userRepo              Repository resolving owner emails
+     * @param petSearchIndex        Search index the imported pets are added to
+     * @param dashboardStatsService Dashboard counts of the imported pets
+     * @param jdbcTemplate          Template running the batch inserts
+     * @param transactionManager    Manager of the per-batch transactions
+     * @param objectMapper          Mapper used for the NDJSON lines
+     * @param validator             Validator applied to each row
+     * @param batchSize             Rows validated and written together
+     * @param maxErrors             Rejected rows kept in the report of a job
+     */
+    public PetImportService(UserRepo userRepo, PetSearchIndex petSearchIndex,
+            DashboardStatsService dashboardStatsService, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, ObjectMapper objectMapper, Validator validator,
+            @Value("${pets.import.batch-size:1000}") int batchSize,
+            @Value("${pets.import.max-errors:1000}") int maxErrors) {
+        this.userRepo = userRepo;
+        this.petSearchIndex = petSearchIndex;
+        this.dashboardStatsService = dashboardStatsService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Creates an import waiting for its data.
+     *
+     * @param format csv or ndjson
+     * @return the new job
+     */
+    public PetImportJob createJob(String format) {
+        Job job = new Job(UUID.randomUUID().toString(), format);
+        jobs.put(job.id, job);
+        return job.toView();
+    }
+
+    /**
+     * Returns the progress of an import.
+     *
+     * @param jobId The ID of the import
+     * @return the job, or null if it is unknown or expired
+     */
+    public PetImportJob getJob(String jobId) {
+        Job job = jobs.get(jobId);
+        return job == null ? null : job.toView();
+    }
+
+    /**
+     * Reads the data of an import to the end and imports its rows.
+     *
+     * @param jobId The ID of a pending import
+     * @param input The uploaded data
+     * @return the finished job, or null if the job is unknown or was already
+     *         started
+     */
+    public PetImportJob run(String jobId, InputStream input) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.status.compareAndSet("PENDING", "RUNNING")) {
+            return null;
+        }
+        Map<String, Integer> owners = new HashMap<>();
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            RowSource source = CSV.equals(job.format) ? new CsvSource(reader) : new NdjsonSource(reader);
+            List<Parsed> batch = new ArrayList<>(batchSize);
+            Parsed parsed;
+            while ((parsed = source.next(job.rowsRead.get() + batch.size() + 1)) != null) {
+                batch.add(parsed);
+                if (batch.size() == batchSize) {
+                    importBatch(job, batch, owners);
+                    batch.clear();
+                }
+            }
+            importBatch(job, batch, owners);
+            job.status.set("COMPLETED");
+        } catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+            job.failure = e.getMessage();
+            job.status.set("FAILED");
+        } catch (RuntimeException e) {
+            LOG.warn("Pet import {} failed after {} rows", jobId, job.rowsRead.get(), e);
+            job.failure = "Import stopped: " + e.getMessage();
+            job.status.set("FAILED");
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+        return job.toView();
+    }
+
+    private void importBatch(Job job, List<Parsed> batch, Map<String, Integer> owners) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        resolveOwners(batch, owners);
+        List<Candidate> candidates = batch.parallelStream().map(row -> validate(row, owners)).toList();
+        List<Candidate> valid = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            if (candidate.error != null) {
+                job.reject(candidate.row, candidate.error, maxErrors);
+            } else {
+                valid.add(candidate);
+            }
+        }
+        if (!valid.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> insert(valid));
+            job.imported.addAndGet(valid.size());
+        }
+        job.rowsRead.addAndGet(batch.size());
+    }
+
+    // Looks up the emails of the batch not seen earlier in the import
+    private void resolveOwners(List<Parsed> batch, Map<String, Integer> owners) {
+        Set<String> unknown = new HashSet<>();
+        for (Parsed parsed : batch) {
+            if (parsed.row != null && parsed.row.ownerEmail() != null) {
+                String email = parsed.row.ownerEmail().trim().toLowerCase(Locale.ROOT);
+                if (!email.isEmpty() && !owners.containsKey(email)) {
+                    unknown.add(email);
+                }
+            }
+        }
+        if (unknown.isEmpty()) {
+            return;
+        }
+        for (Object[] row : userRepo.findIdsByEmails(unknown)) {
+            owners.put(((String) row[0]).toLowerCase(Locale.ROOT), (Integer) row[1]);
+        }
+        // Remember misses too, so each email is queried once per import
+        unknown.forEach(email -> owners.putIfAbsent(email, null));
+    }
+
+    private Candidate validate(Parsed parsed, Map<String, Integer> owners) {
+        if (parsed.error != null) {
+            return new Candidate(parsed.number, null, parsed.error);
+        }
+        PetImportRow row = parsed.row;
+        String email = row.ownerEmail() == null ? "" : row.ownerEmail().trim().toLowerCase(Locale.ROOT);
+        Integer userId = owners.get(email);
+        if (userId == null) {
+            return new Candidate(parsed.number, null, email.isEmpty() ? "Owner email is required"
+                    : "No user with email " + row.ownerEmail().trim());
+        }
+        Pet pet = new Pet();
+        pet.setName(trim(row.name()));
+        pet.setSpecies(trim(row.species()));
+        pet.setBreed(trim(row.breed()));
+        String status = trim(row.status());
+        if (status != null && !status.isEmpty()) {
+            pet.setStatus(status);
+        }
+        User owner = new User();
+        owner.setUserId(userId);
+        pet.setUser(owner);
+        try {
+            pet.setDateOfBirth(parseDate(trim(row.dateOfBirth())));
+        } catch (DateTimeParseException e) {
+            return new Candidate(parsed.number, null, "Date of Birth must be yyyy-MM-dd or an ISO date-time");
+        }
+        Set<ConstraintViolation<Pet>> violations = validator.validate(pet);
+        if (!violations.isEmpty()) {
+            return new Candidate(parsed.number, null, violations.iterator().next().getMessage());
+        }
+        return new Candidate(parsed.number, pet, null);
+    }
+
+    // Writes the pets on the transaction's connection and reports them to the
+    // index and the dashboard once committed
+    private void insert(List<Candidate> valid) {
+        List<PetView> saved = new ArrayList<>(valid.size());
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL,
+                    Statement.RETURN_GENERATED_KEYS)) {
+                for (Candidate candidate : valid) {
+                    Pet pet = candidate.pet;
+                    statement.setString(1, pet.getName());
+                    statement.setString(2, pet.getSpecies());
+                    statement.setString(3, pet.getBreed());
+                    statement.setTimestamp(4, Timestamp.valueOf(pet.getDateOfBirth()));
+                    statement.setString(5, pet.getStatus());
+                    statement.setInt(6, pet.getUser().getUserId());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (Candidate candidate : valid) {
+                        if (!keys.next()) {
+                            break;
+                        }
+                        candidate.pet.setPetId(keys.getInt(1));
+                        saved.add(PetView.of(candidate.pet));
+                    }
+                }
+            }
+            return null;
+        });
+        petSearchIndex.onSaved(saved);
+        dashboardStatsService.onPetsAdded(saved);
+    }
+
+    private static LocalDateTime parseDate(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+    }
+
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    // A data row, or the reason it could not be parsed
+    private record Parsed(long number, PetImportRow row, String error) {
+    }
+
+    private record Candidate(long row, Pet pet, String error) {
+    }
+
+    private interface RowSource {
+        // Returns the next row, numbered as given, or null at the end of the data
+        Parsed next(long number) throws IOException;
+    }
+
+    private final class NdjsonSource implements RowSource {
+        private final BufferedReader reader;
+
+        private NdjsonSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Parsed next(long number) throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            try {
+                return new Parsed(number, objectMapper.readValue(line, PetImportRow.class), null);
+            } catch (JsonProcessingException e) {
+                return new Parsed(number, null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    // RFC 4180 records: comma separated, fields optionally quoted, quotes
+    // doubled inside quoted fields, which may span lines
+    private static final class CsvSource implements RowSource {
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        private CsvSource(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> header = readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("The upload is empty");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String column : REQUIRED_COLUMNS) {
+                if (!columns.containsKey(column)) {
+                    throw new IllegalArgumentException("The CSV header has no " + column + " column");
+                }
+            }
+        }
+
+        @Override
+        public Parsed next(long number) throws IOException {
+            List<String> record;
+            do {
+                record = readRecord();
+                if (record == null) {
+                    return null;
+                }
+            } while (record.size() == 1 && record.get(0).isBlank());
+            return new Parsed(number, new PetImportRow(field(record, "name"), field(record, "species"),
+                    field(record, "breed"), field(record, "dateofbirth"), field(record, "status"),
+                    field(record, "owneremail")), null);
+        }
+
+        private String field(List<String> record, String column) {
+            Integer index = columns.get(column);
+            return index == null || index >= record.size() ? null : record.get(index);
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int length = 0;
+            while (c != -1) {
+                if (++length > MAX_RECORD_CHARS) {
+                    throw new IllegalArgumentException("A CSV record is longer than " + MAX_RECORD_CHARS
+                            + " characters" + (quoted ? "; a quoted field is not closed" : ""));
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    // Mutable state of an import, read concurrently by progress requests
+    private static final class Job {
+        private final String id;
+        private final String format;
+        private final AtomicReference<String> status = new AtomicReference<>("PENDING");
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final List<PetImportError> errors = Collections.synchronizedList(new ArrayList<>());
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private volatile String failure;
+        private volatile LocalDateTime finishedAt;
+
+        private Job(String id, String format) {
+            this.id = id;
+            this.format = format;
+        }
+
+        private void reject(long row, String message, int maxErrors) {
+            rejected.incrementAndGet();
+            if (errors.size() < maxErrors) {
+                errors.add(new PetImportError(row, message));
+            }
+        }
+
+        private PetImportJob toView() {
+            List<PetImportError> errorsCopy;
+            synchronized (errors) {
+                errorsCopy = List.copyOf(errors);
+            }
+            return new PetImportJob(id, format, status.get(), rowsRead.get(), imported.get(), rejected.get(),
+                    errorsCopy, failure, createdAt, finishedAt);
+        }
+    }
+}
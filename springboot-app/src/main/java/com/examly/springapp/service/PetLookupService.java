@@ -0,0 +1,108 @@
+package com.examly.springapp.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.examly.springapp.config.ExpiringCache;
+import com.examly.springapp.model.PetView;
+import com.examly.springapp.repository.PetRepo;
+
+/**
+ * Looks up many pets by ID at once, for screens that list appointments.
+ *
+ * IDs are de-duplicated, served from a per-pet cache where possible, and only
+ * the misses are read, with IN lists of bounded length. Pets are cached as
+ * projections, so no user is loaded. Writes on this node evict the pet once
+ * their transaction commits; the TTL bounds staleness for other nodes.
+ */
+@Service
+public class PetLookupService {
+
+    // IDs sent to the database in one IN list
+    private static final int CHUNK_SIZE = 500;
+
+    private final PetRepo petRepo;
+    private final ExpiringCache<Integer, PetView> pets;
+
+    /**
+     * Constructor to initialize PetLookupService with the cache settings and
+     * its dependency.
+     *
+     * @param petRepo         Repository for pet data access operations
+     * @param cacheMaxSize    Number of pets kept in memory, 0 disables the cache
+     * @param cacheTtlSeconds Time a cached pet is trusted
+     */
+    public PetLookupService(PetRepo petRepo,
+            @Value("${pets.lookup.cache-max-size:10000}") int cacheMaxSize,
+            @Value("${pets.lookup.cache-ttl-seconds:300}") long cacheTtlSeconds) {
+        this.petRepo = petRepo;
+        this.pets = new ExpiringCache<>(cacheMaxSize, cacheTtlSeconds * 1000);
+    }
+
+    /**
+     * Returns the pets with the given IDs.
+     *
+     * @param petIds The IDs to look up, possibly with duplicates
+     * @return the existing pets, in the order their IDs first appear
+     */
+    public List<PetView> getPetsByIds(List<Integer> petIds) {
+        Set<Integer> ids = new LinkedHashSet<>(petIds);
+        ids.remove(null);
+        Map<Integer, PetView> found = new HashMap<>();
+        List<Integer> misses = new ArrayList<>();
+        for (Integer id : ids) {
+            PetView pet = pets.get(id);
+            if (pet != null) {
+                found.put(id, pet);
+            } else {
+                misses.add(id);
+            }
+        }
+        found.putAll(load(misses));
+        List<PetView> result = new ArrayList<>(found.size());
+        for (Integer id : ids) {
+            PetView pet = found.get(id);
+            if (pet != null) {
+                result.add(pet);
+            }
+        }
+        return result;
+    }
+
+    private Map<Integer, PetView> load(List<Integer> petIds) {
+        Map<Integer, PetView> loaded = new HashMap<>();
+        for (int start = 0; start < petIds.size(); start += CHUNK_SIZE) {
+            List<Integer> chunk = petIds.subList(start, Math.min(start + CHUNK_SIZE, petIds.size()));
+            for (PetView pet : petRepo.findPetViewsByIds(chunk)) {
+                loaded.put(pet.petId(), pet);
+                pets.put(pet.petId(), pet);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Evicts a pet once the current transaction commits.
+     *
+     * @param petId The ID of the changed or deleted pet
+     */
+    public void onChanged(int petId) {
+        AfterCommit.run(() -> pets.invalidate(petId));
+    }
+
+    /**
+     * Evicts every pet of a user once the current transaction commits.
+     *
+     * @param userId The ID of the removed user
+     */
+    public void onOwnerRemoved(int userId) {
+        AfterCommit.run(() -> pets.invalidateIf(pet -> pet.userId() == userId));
+    }
+}
@@ -0,0 +1,357 @@
+package com.examly.springapp.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.examly.springapp.model.Pet;
+import com.examly.springapp.model.PetView;
+import com.examly.springapp.repository.PetRepo;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory inverted index over the name, species and breed of every pet.
+ *
+ * Terms are kept in a sorted map from term to pet IDs, so a query token
+ * matches exactly, as a prefix for typeahead, or within a small edit distance
+ * of a term with the same first letter. Every token of a query must match; a
+ * pet scores 3 per exact, 2 per prefix and 1 per fuzzy match.
+ *
+ * The index is built at startup on a background thread, tokenizing the pets
+ * in parallel, and rebuilt periodically so pets written on other nodes show
+ * up. Writes on this node are applied once their transaction commits; those
+ * that arrive during a rebuild are re-read after the new index is swapped in.
+ * Until the first build completes, queries see only the pets written since
+ * startup.
+ */
+@Service
+public class PetSearchIndex implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PetSearchIndex.class);
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Pets read from the database in one query during a rebuild
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    private static final int EXACT_SCORE = 3;
+    private static final int PREFIX_SCORE = 2;
+    private static final int FUZZY_SCORE = 1;
+
+    private final PetRepo petRepo;
+    private final long rebuildIntervalMillis;
+    private final ScheduledExecutorService executor;
+
+    private volatile Index index = new Index();
+    // IDs written while a rebuild runs, null when none is running; guarded by this
+    private Set<Integer> changedDuringRebuild;
+
+    /**
+     * Constructor to initialize PetSearchIndex with the rebuild setting and its
+     * dependency.
+     *
+     * @param petRepo                Repository for pet data access operations
+     * @param rebuildIntervalMinutes How often the index is rebuilt from the
+     *                               database, 0 to build it only at startup
+     */
+    public PetSearchIndex(PetRepo petRepo,
+            @Value("${pets.search.rebuild-interval-minutes:60}") long rebuildIntervalMinutes) {
+        this.petRepo = petRepo;
+        this.rebuildIntervalMillis = TimeUnit.MINUTES.toMillis(rebuildIntervalMinutes);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pet-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        if (rebuildIntervalMillis > 0) {
+            executor.scheduleWithFixedDelay(this::rebuildLogged, 0, rebuildIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            executor.execute(this::rebuildLogged);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Searches pets by name, species and breed.
+     *
+     * @param query The words to look for; the last may be incomplete
+     * @param fuzzy Whether tokens may also match terms one or two edits away
+     * @param limit The maximum number of pets returned
+     * @return the best matching pets, best first
+     */
+    public List<PetView> search(String query, boolean fuzzy, int limit) {
+        Set<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Index current = index;
+        Map<Integer, Integer> scores = null;
+        for (String token : tokens) {
+            Map<Integer, Integer> tokenScores = match(current, token, fuzzy);
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                // Keep only pets matching every token so far
+                Map<Integer, Integer> both = new HashMap<>();
+                for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+                    Integer score = tokenScores.get(entry.getKey());
+                    if (score != null) {
+                        both.put(entry.getKey(), entry.getValue() + score);
+                    }
+                }
+                scores = both;
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+        Map<Integer, Integer> finalScores = scores;
+        return finalScores.keySet().stream()
+                .map(current.docs::get)
+                .filter(doc -> doc != null)
+                .sorted(Comparator.<Doc>comparingInt(doc -> -finalScores.get(doc.pet.petId()))
+                        .thenComparing(doc -> doc.pet.name(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                        .thenComparingInt(doc -> doc.pet.petId()))
+                .limit(limit)
+                .map(doc -> doc.pet)
+                .toList();
+    }
+
+    // Best score of each pet for one query token
+    private Map<Integer, Integer> match(Index current, String token, boolean fuzzy) {
+        Map<Integer, Integer> scores = new HashMap<>();
+        for (Map.Entry<String, Set<Integer>> term : current.postings
+                .subMap(token, true, token + Character.MAX_VALUE, true).entrySet()) {
+            int score = term.getKey().equals(token) ? EXACT_SCORE : PREFIX_SCORE;
+            for (Integer petId : term.getValue()) {
+                scores.merge(petId, score, Math::max);
+            }
+        }
+        int maxEdits = fuzzy ? maxEdits(token) : 0;
+        if (maxEdits > 0) {
+            // Typos rarely hit the first letter, which keeps the scan small
+            String first = token.substring(0, 1);
+            for (Map.Entry<String, Set<Integer>> term : current.postings
+                    .subMap(first, true, first + Character.MAX_VALUE, true).entrySet()) {
+                String candidate = term.getKey();
+                if (Math.abs(candidate.length() - token.length()) <= maxEdits && !candidate.startsWith(token)
+                        && withinEdits(token, candidate, maxEdits)) {
+                    for (Integer petId : term.getValue()) {
+                        scores.merge(petId, FUZZY_SCORE, Math::max);
+                    }
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static int maxEdits(String token) {
+        if (token.length() >= 8) {
+            return 2;
+        }
+        return token.length() >= 4 ? 1 : 0;
+    }
+
+    // Levenshtein distance of at most max, giving up as soon as a row exceeds it
+    private static boolean withinEdits(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] row = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            row[0] = i;
+            int rowMin = row[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                row[j] = Math.min(Math.min(row[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, row[j]);
+            }
+            if (rowMin > max) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = row;
+            row = swap;
+        }
+        return previous[b.length()] <= max;
+    }
+
+    /**
+     * Indexes an added or updated pet once the current transaction commits.
+     *
+     * @param pet The saved pet
+     */
+    public void onSaved(Pet pet) {
+        PetView view = PetView.of(pet);
+        AfterCommit.run(() -> apply(view.petId(), view));
+    }
+
+    /**
+     * Indexes added pets once the current transaction commits.
+     *
+     * @param pets The saved pets
+     */
+    public void onSaved(List<PetView> pets) {
+        if (!pets.isEmpty()) {
+            AfterCommit.run(() -> pets.forEach(pet -> apply(pet.petId(), pet)));
+        }
+    }
+
+    /**
+     * Removes a pet once the current transaction commits.
+     *
+     * @param petId The ID of the deleted pet
+     */
+    public void onRemoved(int petId) {
+        AfterCommit.run(() -> apply(petId, null));
+    }
+
+    /**
+     * Removes every pet of a user once the current transaction commits.
+     *
+     * @param userId The ID of the removed user
+     */
+    public void onOwnerRemoved(int userId) {
+        AfterCommit.run(() -> index.docs.values().stream()
+                .filter(doc -> doc.pet.userId() == userId)
+                .map(doc -> doc.pet.petId())
+                .toList()
+                .forEach(petId -> apply(petId, null)));
+    }
+
+    public int size() {
+        return index.docs.size();
+    }
+
+    // Replaces or removes the entry of one pet
+    private synchronized void apply(int petId, PetView pet) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(petId);
+        }
+        index.remove(petId);
+        if (pet != null) {
+            index.add(pet);
+        }
+    }
+
+    private void rebuildLogged() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            LOG.warn("Rebuilding the pet search index failed", e);
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+        }
+    }
+
+    private void rebuild() {
+        long started = System.nanoTime();
+        synchronized (this) {
+            changedDuringRebuild = new LinkedHashSet<>();
+        }
+        List<PetView> pets = new ArrayList<>();
+        int lastId = 0;
+        List<PetView> batch;
+        do {
+            batch = petRepo.findPetViewsAfter(lastId, PageRequest.ofSize(LOAD_BATCH_SIZE));
+            pets.addAll(batch);
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).petId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        Index rebuilt = new Index();
+        pets.parallelStream().forEach(rebuilt::add);
+
+        Set<Integer> changed;
+        synchronized (this) {
+            index = rebuilt;
+            changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+        }
+        // Writes committed while the snapshot was read may be missing from it
+        if (!changed.isEmpty()) {
+            Map<Integer, PetView> current = new HashMap<>();
+            petRepo.findPetViewsByIds(changed).forEach(pet -> current.put(pet.petId(), pet));
+            for (Integer petId : changed) {
+                apply(petId, current.get(petId));
+            }
+        }
+        LOG.info("Pet search index built with {} pets in {} ms", pets.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text != null) {
+            for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private record Doc(PetView pet, Set<String> terms) {
+    }
+
+    // Term dictionary and documents; safe for concurrent reads while one
+    // thread writes, and for concurrent adds of different pets
+    private static final class Index {
+        private final ConcurrentSkipListMap<String, Set<Integer>> postings = new ConcurrentSkipListMap<>();
+        private final Map<Integer, Doc> docs = new ConcurrentHashMap<>();
+
+        private void add(PetView pet) {
+            Set<String> terms = tokenize(pet.name());
+            terms.addAll(tokenize(pet.species()));
+            terms.addAll(tokenize(pet.breed()));
+            for (String term : terms) {
+                postings.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet()).add(pet.petId());
+            }
+            docs.put(pet.petId(), new Doc(pet, terms));
+        }
+
+        private void remove(int petId) {
+            Doc doc = docs.remove(petId);
+            if (doc == null) {
+                return;
+            }
+            for (String term : doc.terms) {
+                postings.computeIfPresent(term, (t, ids) -> {
+                    ids.remove(petId);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+    }
+}
@@ -4,7 +4,9 @@ import java.util.List;
 
 import com.examly.springapp.exception.PetNotFoundException;
 import com.examly.springapp.exception.UserNotFoundException;
+import com.examly.springapp.exception.VersionConflictException;
 import com.examly.springapp.model.Pet;
+import com.examly.springapp.model.PetView;
 
 /**
  * Service interface for handling pet-related operations.
@@ -31,10 +33,15 @@ public interface PetService {
      * Updates a pet by its ID.
      * 
      * @param petId The ID of the pet to be updated
-     * @param pet   The updated pet details
+     * @param pet             The updated pet details
+     * @param expectedVersion The version the client last read, or null to skip
+     *                        the check
      * @return The updated pet, or null if not found
+     * @throws VersionConflictException if the pet is no longer at the expected
+     *                                  version
      */
-    Pet updatePetById(int petId, Pet pet) throws PetNotFoundException;
+    Pet updatePetById(int petId, Pet pet, Integer expectedVersion)
+            throws PetNotFoundException, VersionConflictException;
 
     /**
      * Deletes a pet by its ID.
@@ -51,8 +58,26 @@ public interface PetService {
      * @param userId The ID of the user whose pets are to be retrieved
      * @return A list of pets belonging to the specified user
      */
-    List<Pet> getAllPetsByUserId(int userId) throws UserNotFoundException;
+    List<PetView> getAllPetsByUserId(int userId) throws UserNotFoundException;
 
     String getPetNameById(Integer petId);
 
-}
\ No newline at end of file
+    /**
+     * Retrieves several pets in one call.
+     * 
+     * @param petIds The IDs of the pets, possibly with duplicates
+     * @return the existing pets, in the order their IDs first appear
+     */
+    List<PetView> getPetsByIds(List<Integer> petIds);
+
+    /**
+     * Searches all pets by name, species and breed.
+     * 
+     * @param query The words to look for; the last may be incomplete
+     * @param fuzzy Whether small typos are tolerated
+     * @param limit The maximum number of pets returned
+     * @return the best matching pets, best first
+     */
+    List<PetView> searchPets(String query, boolean fuzzy, int limit);
+
+}
@@ -1,16 +1,13 @@
 package com.examly.springapp.service;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.util.List;
-import java.util.Optional;
 
 import com.examly.springapp.exception.PetNotFoundException;
 import com.examly.springapp.exception.UserNotFoundException;
-import com.examly.springapp.model.Appointment;
+import com.examly.springapp.exception.VersionConflictException;
 import com.examly.springapp.model.Pet;
-import com.examly.springapp.repository.AppointmentRepo;
-import com.examly.springapp.repository.FeedbackRepo;
+import com.examly.springapp.model.PetView;
 import com.examly.springapp.repository.PetRepo;
 
 import jakarta.transaction.Transactional;
@@ -24,18 +21,27 @@ import jakarta.transaction.Transactional;
 public class PetServiceImpl implements PetService {
 
     private final PetRepo petRepo;
-    private final AppointmentRepo appointmentRepo;
-    private final FeedbackRepo feedbackRepo;
+    private final CascadeDeleteService cascadeDeleteService;
+    private final PetLookupService petLookupService;
+    private final PetSearchIndex petSearchIndex;
+    private final DashboardStatsService dashboardStatsService;
 
-    public PetServiceImpl(PetRepo petRepo, AppointmentRepo appointmentRepo, FeedbackRepo feedbackRepo) {
+    public PetServiceImpl(PetRepo petRepo, CascadeDeleteService cascadeDeleteService,
+            PetLookupService petLookupService, PetSearchIndex petSearchIndex,
+            DashboardStatsService dashboardStatsService) {
         this.petRepo = petRepo;
-        this.appointmentRepo = appointmentRepo;
-        this.feedbackRepo = feedbackRepo;
+        this.cascadeDeleteService = cascadeDeleteService;
+        this.petLookupService = petLookupService;
+        this.petSearchIndex = petSearchIndex;
+        this.dashboardStatsService = dashboardStatsService;
     }
 
     @Override
     public Pet addPet(Pet pet) {
-        return petRepo.save(pet);
+        Pet savedPet = petRepo.save(pet);
+        petSearchIndex.onSaved(savedPet);
+        dashboardStatsService.onPetAdded(PetView.of(savedPet));
+        return savedPet;
     }
 
     @Override
@@ -44,16 +50,26 @@ public class PetServiceImpl implements PetService {
     }
 
     @Override
-    public Pet updatePetById(int petId, Pet pet) throws PetNotFoundException {
+    @Transactional
+    public Pet updatePetById(int petId, Pet pet, Integer expectedVersion)
+            throws PetNotFoundException, VersionConflictException {
         Pet existingPet = petRepo.findById(petId).orElse(null);
         if (existingPet != null) {
+            if (expectedVersion != null && expectedVersion != existingPet.getVersion()) {
+                throw new VersionConflictException("Pet was changed by another request, reload and retry");
+            }
+            PetView before = PetView.of(existingPet);
             existingPet.setName(pet.getName());
             existingPet.setSpecies(pet.getSpecies());
             existingPet.setBreed(pet.getBreed());
             existingPet.setDateOfBirth(pet.getDateOfBirth());
             existingPet.setUser(pet.getUser());
             existingPet.setStatus(pet.getStatus());
-            return petRepo.save(existingPet);
+            petLookupService.onChanged(petId);
+            petSearchIndex.onSaved(existingPet);
+            dashboardStatsService.onPetChanged(before, PetView.of(existingPet));
+            // Flushed here so the returned version is the new one
+            return petRepo.saveAndFlush(existingPet);
         }
         return null;
     }
@@ -61,23 +77,15 @@ public class PetServiceImpl implements PetService {
     @Override
     @Transactional
     public boolean deletePetById(int petId) throws PetNotFoundException {
-        Pet pet = petRepo.findById(petId).orElse(null);
-        if (pet != null) {
-            List<Appointment> appointments = appointmentRepo.findByPetPetId(petId);
-            for (Appointment appointment : appointments) {
-                feedbackRepo.deleteByAppointmentAppointmentId(appointment.getAppointmentId()); // Delete associated
-                                                                                               // feedbacks
-            }
-            appointmentRepo.deleteAll(appointments); // Delete associated appointments
-            petRepo.deleteById(petId); // Delete the pet
-            return true;
-        }
-        return false;
+        // Feedback, appointments and the pet go in a fixed number of statements
+        petLookupService.onChanged(petId);
+        petSearchIndex.onRemoved(petId);
+        return cascadeDeleteService.deletePet(petId);
     }
 
     @Override
-    public List<Pet> getAllPetsByUserId(int userId) throws UserNotFoundException {
-        return petRepo.findAllPetsByUserId(userId);
+    public List<PetView> getAllPetsByUserId(int userId) throws UserNotFoundException {
+        return petRepo.findPetViewsByUserId(userId);
     }
 
     @Override
@@ -85,4 +93,14 @@ public class PetServiceImpl implements PetService {
         // Implement this method if necessary
         return null;
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<PetView> getPetsByIds(List<Integer> petIds) {
+        return petLookupService.getPetsByIds(petIds);
+    }
+
+    @Override
+    public List<PetView> searchPets(String query, boolean fuzzy, int limit) {
+        return petSearchIndex.search(query, fuzzy, limit);
+    }
+}
@@ -0,0 +1,18 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Reminder;
+
+/**
+ * Delivers appointment reminders. Every bean implementing this interface
+ * receives each due reminder from AppointmentReminderScheduler.
+ */
+public interface ReminderSender {
+
+    /**
+     * Delivers a reminder. Called on the scheduler thread, so implementations
+     * should hand slow work off.
+     *
+     * @param reminder The due reminder
+     */
+    void send(Reminder reminder);
+}
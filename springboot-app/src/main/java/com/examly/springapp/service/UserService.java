@@ -37,4 +37,12 @@ public interface UserService {
      * @return A list of all users
      */
     List<User> getAllUsers();
+
+    /**
+     * Deletes a user together with their pets, appointments and feedback.
+     *
+     * @param userId The ID of the user to delete
+     * @throws UserNotFoundException if the user does not exist
+     */
+    void deleteUserById(int userId) throws UserNotFoundException;
 }
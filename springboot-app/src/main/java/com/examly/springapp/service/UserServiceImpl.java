@@ -6,18 +6,20 @@ import java.util.Optional;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.examly.springapp.config.JwtUtils;
+import com.examly.springapp.config.PrincipalResolver;
+import com.examly.springapp.config.UserPrinciple;
 import com.examly.springapp.exception.UserAlreadyExistsException;
 import com.examly.springapp.exception.UserNotFoundException;
 import com.examly.springapp.model.LoginDTO;
 import com.examly.springapp.model.User;
 import com.examly.springapp.repository.UserRepo;
 
+import jakarta.transaction.Transactional;
+
 /**
  * Implementation of the UserService interface, providing methods to handle
  * user registration, authentication, and retrieval operations.
@@ -29,25 +31,37 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authManager;
     private final JwtUtils jwtutils;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalResolver principalResolver;
+    private final CascadeDeleteService cascadeDeleteService;
+    private final PetLookupService petLookupService;
+    private final PetSearchIndex petSearchIndex;
 
     /**
      * Constructor to initialize UserServiceImpl with necessary dependencies.
      *
-     * @param userRepo           Repository for user data access operations
-     * @param passwordEncoder    Service for encoding passwords
-     * @param authManager        Manager for handling authentication
-     * @param jwtutils           Utility class for handling JWT token operations
-     * @param userDetailsService Service for loading user-specific data
+     * @param userRepo             Repository for user data access operations
+     * @param passwordEncoder      Service for encoding passwords
+     * @param authManager          Manager for handling authentication
+     * @param jwtutils             Utility class for handling JWT token operations
+     * @param principalResolver    Resolver whose cached principals are evicted
+     *                             on user changes
+     * @param cascadeDeleteService Service removing a user with everything that
+     *                             references it
+     * @param petLookupService     Pet cache evicted when a user is removed
+     * @param petSearchIndex       Pet index updated when a user is removed
      */
     public UserServiceImpl(UserRepo userRepo, PasswordEncoder passwordEncoder,
             AuthenticationManager authManager, JwtUtils jwtutils,
-            UserDetailsService userDetailsService) {
+            PrincipalResolver principalResolver, CascadeDeleteService cascadeDeleteService,
+            PetLookupService petLookupService, PetSearchIndex petSearchIndex) {
         this.userRepo = userRepo;
         this.passwordEncoder = passwordEncoder;
         this.authManager = authManager;
         this.jwtutils = jwtutils;
-        this.userDetailsService = userDetailsService;
+        this.principalResolver = principalResolver;
+        this.cascadeDeleteService = cascadeDeleteService;
+        this.petLookupService = petLookupService;
+        this.petSearchIndex = petSearchIndex;
     }
 
     /**
@@ -81,16 +95,12 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public LoginDTO loginUser(User user) throws UserNotFoundException {
+        // The authentication provider loads the user once and returns it as the
+        // authenticated principal, so no further lookups are needed
         Authentication authentication = authManager
                 .authenticate(new UsernamePasswordAuthenticationToken(user.getEmail(), user.getPassword()));
-        if (authentication.isAuthenticated()) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail()); // Retrieve UserDetails
-            User userEntity = userRepo.findByEmail(user.getEmail())
-                    .orElseThrow(() -> new UserNotFoundException("User not found"));
-
-            int userId = userEntity.getUserId(); // Assuming User entity has an Id field
-            String email = userEntity.getEmail();
-            String jwtToken = jwtutils.generateToken(userDetails); // Pass userId and email to generateToken
+        if (authentication.isAuthenticated() && authentication.getPrincipal() instanceof UserPrinciple principal) {
+            String jwtToken = jwtutils.generateToken(principal);
 
             LoginDTO authUser = new LoginDTO();
             authUser.setJwtToken(jwtToken);
@@ -108,4 +118,25 @@ public class UserServiceImpl implements UserService {
     public List<User> getAllUsers() {
         return userRepo.findAll();
     }
-}
\ No newline at end of file
+
+    /**
+     * Deletes a user together with their pets, the appointments booked by them
+     * or for their pets, and the related feedback, in a fixed number of
+     * statements.
+     *
+     * @param userId The ID of the user to delete
+     * @throws UserNotFoundException if the user does not exist
+     */
+    @Override
+    @Transactional
+    public void deleteUserById(int userId) throws UserNotFoundException {
+        User user = userRepo.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User with userId " + userId + " not found"));
+        cascadeDeleteService.deleteUser(userId);
+        petLookupService.onOwnerRemoved(userId);
+        petSearchIndex.onOwnerRemoved(userId);
+        // Evicted once the delete is visible, so a concurrent request cannot
+        // cache the user again
+        AfterCommit.run(() -> principalResolver.evict(user.getEmail()));
+    }
+}
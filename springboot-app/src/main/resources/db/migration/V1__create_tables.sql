@@ -0,0 +1,52 @@
+-- Tables as previously created by spring.jpa.hibernate.ddl-auto=update
+
+CREATE TABLE IF NOT EXISTS user (
+    user_id INT NOT NULL AUTO_INCREMENT,
+    email VARCHAR(255),
+    password VARCHAR(255),
+    username VARCHAR(100),
+    mobile_number VARCHAR(255),
+    user_role VARCHAR(255),
+    PRIMARY KEY (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS pet (
+    pet_id INT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(100),
+    species VARCHAR(100),
+    breed VARCHAR(100),
+    date_of_birth DATETIME(6),
+    status VARCHAR(255),
+    user_id INT NOT NULL,
+    PRIMARY KEY (pet_id),
+    CONSTRAINT fk_pet_user FOREIGN KEY (user_id) REFERENCES user (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS appointment (
+    appointment_id INT NOT NULL AUTO_INCREMENT,
+    appointment_date DATETIME(6),
+    reason VARCHAR(255),
+    status VARCHAR(255),
+    user_id INT NOT NULL,
+    pet_id INT NOT NULL,
+    PRIMARY KEY (appointment_id),
+    CONSTRAINT fk_appointment_user FOREIGN KEY (user_id) REFERENCES user (user_id),
+    CONSTRAINT fk_appointment_pet FOREIGN KEY (pet_id) REFERENCES pet (pet_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS feedback (
+    feedback_id INT NOT NULL AUTO_INCREMENT,
+    message VARCHAR(500),
+    rating INT NOT NULL,
+    user_id INT NOT NULL,
+    appointment_id INT NOT NULL,
+    PRIMARY KEY (feedback_id),
+    CONSTRAINT fk_feedback_user FOREIGN KEY (user_id) REFERENCES user (user_id),
+    CONSTRAINT fk_feedback_appointment FOREIGN KEY (appointment_id) REFERENCES appointment (appointment_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS appointment_capacity (
+    capacity_date DATE NOT NULL,
+    booked_count INT NOT NULL,
+    PRIMARY KEY (capacity_date)
+) ENGINE = InnoDB;
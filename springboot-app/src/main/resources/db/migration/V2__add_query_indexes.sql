@@ -0,0 +1,18 @@
+-- Indexes for the predicates the repositories run. MySQL drops the implicit
+-- foreign key indexes once one of these can serve the constraint.
+
+-- Login, registration and principal lookups by email
+CREATE UNIQUE INDEX ux_user_email ON user (email);
+
+-- Daily capacity seeding, availability and calendar counts by date range;
+-- keyset pages ordered by (appointment_date, appointment_id)
+CREATE INDEX idx_appointment_date_status ON appointment (appointment_date, status);
+-- A user's appointments, ordered by date
+CREATE INDEX idx_appointment_user_date ON appointment (user_id, appointment_date);
+CREATE INDEX idx_appointment_pet ON appointment (pet_id);
+
+-- findAllPetsByUserId and findPetViewsByUserId
+CREATE INDEX idx_pet_user ON pet (user_id);
+
+CREATE INDEX idx_feedback_user ON feedback (user_id);
+CREATE INDEX idx_feedback_appointment ON feedback (appointment_id);
@@ -0,0 +1,6 @@
+-- Optimistic lock versions, see the @Version fields of the entities
+
+ALTER TABLE user ADD COLUMN version INT NOT NULL DEFAULT 0;
+ALTER TABLE pet ADD COLUMN version INT NOT NULL DEFAULT 0;
+ALTER TABLE appointment ADD COLUMN version INT NOT NULL DEFAULT 0;
+ALTER TABLE feedback ADD COLUMN version INT NOT NULL DEFAULT 0;
@@ -0,0 +1,8 @@
+-- Indexes for /api/appointments/search
+
+-- Status filter with a date range, rows already in (appointment_date,
+-- appointment_id) order
+CREATE INDEX idx_appointment_status_date ON appointment (status, appointment_date);
+
+-- Species filter, joined to appointment through idx_appointment_pet
+CREATE INDEX idx_pet_species ON pet (species);
@@ -0,0 +1,17 @@
+-- Transactional outbox: domain events written with the change that caused
+-- them and relayed to subscribers by OutboxRelay
+
+CREATE TABLE outbox_event (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id INT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    available_at DATETIME(6) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- Next batch of deliverable events
+CREATE INDEX idx_outbox_event_available ON outbox_event (available_at, id);
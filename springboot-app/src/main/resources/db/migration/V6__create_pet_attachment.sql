@@ -0,0 +1,18 @@
+-- Files attached to a pet. The content lives on disk under its SHA-256 hash,
+-- so identical uploads share one blob
+
+CREATE TABLE pet_attachment (
+    attachment_id INT NOT NULL AUTO_INCREMENT,
+    pet_id INT NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    sha256 VARCHAR(64) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (attachment_id),
+    CONSTRAINT fk_pet_attachment_pet FOREIGN KEY (pet_id) REFERENCES pet (pet_id)
+) ENGINE = InnoDB;
+
+-- Attachments of a pet, and remaining references to a blob before it is removed
+CREATE INDEX idx_pet_attachment_pet ON pet_attachment (pet_id, attachment_id);
+CREATE INDEX idx_pet_attachment_sha256 ON pet_attachment (sha256);
@@ -0,0 +1,14 @@
+-- Reminders that were sent. Every node schedules reminders, and the node that
+-- inserts the row first is the one that sends; the appointment date is part
+-- of the key so a moved appointment is reminded again.
+
+CREATE TABLE appointment_reminder (
+    appointment_id INT NOT NULL,
+    appointment_date DATETIME(6) NOT NULL,
+    lead_minutes INT NOT NULL,
+    sent_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (appointment_id, appointment_date, lead_minutes)
+) ENGINE = InnoDB;
+
+-- Removal of the rows of past appointments
+CREATE INDEX idx_appointment_reminder_date ON appointment_reminder (appointment_date);
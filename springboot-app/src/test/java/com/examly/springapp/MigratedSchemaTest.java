@@ -0,0 +1,66 @@
+package com.examly.springapp;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Base of the tests that run against the schema migrated by Flyway. Tests run
+ * outside a transaction so that what they write is committed and visible to
+ * other threads, and each test gets an owner with one pet that is removed,
+ * with its appointments, afterwards.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public abstract class MigratedSchemaTest {
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    protected int userId;
+    protected int petId;
+
+    @BeforeEach
+    void insertOwner() {
+        userId = insertUser(getClass().getSimpleName().toLowerCase());
+        petId = insertPet("Rex", "Dog", userId);
+    }
+
+    @AfterEach
+    void deleteOwner() {
+        jdbcTemplate.update("DELETE FROM appointment WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM pet WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM user WHERE user_id = ?", userId);
+    }
+
+    protected int insertUser(String username) {
+        String email = username + "@example.com";
+        jdbcTemplate.update("INSERT INTO user (email, password, username, mobile_number, user_role) "
+                + "VALUES (?, 'x', ?, '9999999999', 'PETOWNER')", email, username);
+        return jdbcTemplate.queryForObject("SELECT user_id FROM user WHERE email = ?", Integer.class, email);
+    }
+
+    protected int insertPet(String name, String species, int ownerId) {
+        jdbcTemplate.update("INSERT INTO pet (name, species, breed, date_of_birth, status, user_id) "
+                + "VALUES (?, ?, 'Mixed', '2020-01-01 00:00:00', 'healthy', ?)", name, species, ownerId);
+        return jdbcTemplate.queryForObject("SELECT MAX(pet_id) FROM pet WHERE user_id = ?", Integer.class,
+                ownerId);
+    }
+
+    protected int insertAppointment(LocalDateTime date, String status, int ownerId, int forPetId) {
+        jdbcTemplate.update("INSERT INTO appointment (appointment_date, reason, status, user_id, pet_id) "
+                + "VALUES (?, 'Checkup', ?, ?, ?)", date, status, ownerId, forPetId);
+        return jdbcTemplate.queryForObject("SELECT MAX(appointment_id) FROM appointment WHERE user_id = ?",
+                Integer.class, ownerId);
+    }
+}
@@ -0,0 +1,114 @@
+package com.examly.springapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.examly.springapp.MigratedSchemaTest;
+import com.examly.springapp.model.Pet;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Runs the native ledger statements against the migrated schema, and checks
+ * that they only invalidate the ledger table, leaving the second-level cache
+ * of other entities in place.
+ */
+class AppointmentCapacityRepoTest extends MigratedSchemaTest {
+
+    private static final LocalDate DAY = LocalDate.of(2031, 4, 2);
+
+    @Autowired
+    private AppointmentCapacityRepo appointmentCapacityRepo;
+
+    @Autowired
+    private PetRepo petRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Integer otherUserId;
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.getCache().evictAll();
+        jdbcTemplate.update("DELETE FROM appointment_capacity WHERE capacity_date BETWEEN ? AND ?", DAY,
+                DAY.plusDays(2));
+        if (otherUserId != null) {
+            jdbcTemplate.update("DELETE FROM appointment WHERE user_id IN (?, ?)", userId, otherUserId);
+            jdbcTemplate.update("DELETE FROM pet WHERE user_id = ?", otherUserId);
+            jdbcTemplate.update("DELETE FROM user WHERE user_id = ?", otherUserId);
+        }
+    }
+
+    @Test
+    void insertIfAbsentKeepsOtherEntitiesCached() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> petRepo.findById(petId));
+        assertTrue(entityManagerFactory.getCache().contains(Pet.class, petId));
+
+        Integer created = transactionTemplate.execute(status -> appointmentCapacityRepo.insertIfAbsent(DAY,
+                DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay()));
+
+        assertEquals(1, created);
+        assertTrue(entityManagerFactory.getCache().contains(Pet.class, petId));
+    }
+
+    @Test
+    void releaseAllForPetReleasesEveryDayOfThePet() {
+        int otherPetId = insertPet("Tom", "Cat", userId);
+        insertAppointment(DAY.atTime(9, 0), "PENDING", userId, petId);
+        insertAppointment(DAY.atTime(10, 0), "APPROVED", userId, petId);
+        insertAppointment(DAY.plusDays(1).atTime(9, 0), "PENDING", userId, petId);
+        insertAppointment(DAY.atTime(11, 0), "PENDING", userId, otherPetId);
+        insertLedger(DAY, 5);
+        insertLedger(DAY.plusDays(1), 1);
+        insertLedger(DAY.plusDays(2), 3);
+
+        Integer updated = new TransactionTemplate(transactionManager)
+                .execute(status -> appointmentCapacityRepo.releaseAllForPet(petId));
+
+        assertEquals(2, updated);
+        assertEquals(3, bookedCount(DAY));
+        assertEquals(0, bookedCount(DAY.plusDays(1)));
+        assertEquals(3, bookedCount(DAY.plusDays(2)));
+    }
+
+    @Test
+    void releaseAllForUserReleasesBookingsByAndForTheUser() {
+        otherUserId = insertUser("ledger-other");
+        int otherPetId = insertPet("Tom", "Cat", otherUserId);
+        insertAppointment(DAY.atTime(9, 0), "PENDING", userId, otherPetId);
+        insertAppointment(DAY.atTime(10, 0), "PENDING", otherUserId, otherPetId);
+        insertAppointment(DAY.plusDays(1).atTime(9, 0), "PENDING", otherUserId, petId);
+        insertLedger(DAY, 4);
+        insertLedger(DAY.plusDays(1), 1);
+
+        Integer updated = new TransactionTemplate(transactionManager)
+                .execute(status -> appointmentCapacityRepo.releaseAllForUser(userId));
+
+        assertEquals(2, updated);
+        assertEquals(3, bookedCount(DAY));
+        assertEquals(0, bookedCount(DAY.plusDays(1)));
+    }
+
+    private void insertLedger(LocalDate day, int booked) {
+        jdbcTemplate.update("INSERT INTO appointment_capacity (capacity_date, booked_count) VALUES (?, ?)", day,
+                booked);
+    }
+
+    private int bookedCount(LocalDate day) {
+        return jdbcTemplate.queryForObject("SELECT booked_count FROM appointment_capacity WHERE capacity_date = ?",
+                Integer.class, day);
+    }
+}
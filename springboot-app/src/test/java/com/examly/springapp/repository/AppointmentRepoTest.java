@@ -0,0 +1,40 @@
+package com.examly.springapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.examly.springapp.MigratedSchemaTest;
+
+/**
+ * Runs the native appointment queries against the migrated schema.
+ */
+class AppointmentRepoTest extends MigratedSchemaTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2031, 5, 6, 9, 0);
+
+    @Autowired
+    private AppointmentRepo appointmentRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void lockStatusesByIdsReturnsOnlyAppointmentsInTheStatuses() {
+        int pending = insertAppointment(DATE, "PENDING", userId, petId);
+        int approved = insertAppointment(DATE, "APPROVED", userId, petId);
+
+        List<Object[]> rows = new TransactionTemplate(transactionManager).execute(
+                status -> appointmentRepo.lockStatusesByIds(List.of(pending, approved), List.of("PENDING")));
+
+        assertEquals(1, rows.size());
+        assertEquals(pending, ((Number) rows.get(0)[0]).intValue());
+        assertEquals("PENDING", rows.get(0)[1]);
+    }
+}
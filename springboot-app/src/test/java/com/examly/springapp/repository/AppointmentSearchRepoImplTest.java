@@ -0,0 +1,132 @@
+package com.examly.springapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.test.context.TestPropertySource;
+
+import com.examly.springapp.MigratedSchemaTest;
+import com.examly.springapp.model.AppointmentSearchCriteria;
+import com.examly.springapp.model.AppointmentView;
+
+/**
+ * Runs EXPLAIN on the SQL the search criteria generate and checks that the
+ * indexes of migration V4 are chosen.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.examly.springapp.repository.AppointmentSearchRepoImplTest$CapturingInspector")
+class AppointmentSearchRepoImplTest extends MigratedSchemaTest {
+
+    private static final String[] STATUSES = { "PENDING", "APPROVED", "REJECTED", "CLOSED" };
+    private static final String[] SPECIES = { "Dog", "Cat", "Bird", "Rabbit", "Fish" };
+    private static final LocalDate FIRST_DAY = LocalDate.of(2032, 1, 1);
+
+    @Autowired
+    private AppointmentRepo appointmentRepo;
+
+    @BeforeEach
+    void insertAppointments() {
+        List<Integer> userIds = new ArrayList<>();
+        for (int u = 0; u < 20; u++) {
+            userIds.add(insertUser("plan" + u));
+        }
+        List<Integer> petIds = new ArrayList<>();
+        for (int p = 0; p < 100; p++) {
+            petIds.add(insertPet("Pet" + p, SPECIES[p % SPECIES.length], userIds.get(p % userIds.size())));
+        }
+        List<Object[]> appointments = new ArrayList<>();
+        for (int a = 0; a < 2000; a++) {
+            int petIndex = a % petIds.size();
+            appointments.add(new Object[] { FIRST_DAY.atTime(9, 0).plusHours(a), "Checkup " + a,
+                    STATUSES[a % STATUSES.length], userIds.get(petIndex % userIds.size()), petIds.get(petIndex) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO appointment (appointment_date, reason, status, user_id, pet_id) "
+                + "VALUES (?, ?, ?, ?, ?)", appointments);
+        jdbcTemplate.execute("ANALYZE");
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    @AfterEach
+    void deleteAppointments() {
+        String users = "(SELECT user_id FROM user WHERE email LIKE 'plan%@example.com')";
+        jdbcTemplate.update("DELETE FROM appointment WHERE user_id IN " + users);
+        jdbcTemplate.update("DELETE FROM pet WHERE user_id IN " + users);
+        jdbcTemplate.update("DELETE FROM user WHERE email LIKE 'plan%@example.com'");
+    }
+
+    @Test
+    void statusWithDateRangeUsesStatusDateIndex() {
+        AppointmentSearchCriteria criteria = new AppointmentSearchCriteria("APPROVED",
+                FIRST_DAY.plusDays(10).atStartOfDay(), FIRST_DAY.plusDays(20).atStartOfDay(), null, null, null);
+
+        String plan = explain(search(criteria));
+
+        assertTrue(plan.contains("idx_appointment_status_date"), plan);
+    }
+
+    @Test
+    void speciesFilterUsesPetSpeciesIndex() {
+        AppointmentSearchCriteria criteria = new AppointmentSearchCriteria(null, null, null, null, "Cat", null);
+
+        String plan = explain(search(criteria));
+
+        assertTrue(plan.contains("idx_pet_species"), plan);
+        assertTrue(plan.contains("idx_appointment_pet"), plan);
+    }
+
+    // Runs the search and returns the SQL Hibernate sent for it
+    private String search(AppointmentSearchCriteria criteria) {
+        List<AppointmentView> result = appointmentRepo.findViews(AppointmentSpecifications.matching(criteria), 50);
+        assertFalse(result.isEmpty());
+        assertEquals(1, CapturingInspector.STATEMENTS.size(), CapturingInspector.STATEMENTS::toString);
+        return CapturingInspector.STATEMENTS.get(0);
+    }
+
+    // H2 plans do not depend on the bound values, so every parameter is bound
+    // to null
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                }
+            }
+        });
+    }
+
+    /**
+     * Records the SQL of every statement Hibernate prepares.
+     */
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
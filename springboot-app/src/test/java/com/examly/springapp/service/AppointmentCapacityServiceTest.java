@@ -0,0 +1,95 @@
+package com.examly.springapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.examly.springapp.MigratedSchemaTest;
+import com.examly.springapp.exception.AppointmentExceedException;
+
+/**
+ * Books one day from many threads at once against the migrated schema. Every
+ * thread reserves capacity and stores its appointment in one transaction,
+ * the way AppointmentServiceImpl does.
+ */
+@Import(AppointmentCapacityService.class)
+class AppointmentCapacityServiceTest extends MigratedSchemaTest {
+
+    private static final int THREADS = 40;
+    private static final LocalDate DAY = LocalDate.of(2031, 3, 14);
+
+    @Autowired
+    private AppointmentCapacityService appointmentCapacityService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM appointment_capacity WHERE capacity_date = ?", DAY);
+    }
+
+    @Test
+    void concurrentBookingsOfOneDayStopAtTheLimit() throws Exception {
+        int max = appointmentCapacityService.getMaxAppointmentsPerDay();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                int slot = i;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    Boolean stored = transactionTemplate.execute(status -> {
+                        try {
+                            // The first bookings of the day race to create the
+                            // ledger row through INSERT IGNORE
+                            appointmentCapacityService.reserve(DAY);
+                        } catch (AppointmentExceedException e) {
+                            status.setRollbackOnly();
+                            return false;
+                        }
+                        insertAppointment(DAY.atTime(9, 0).plusMinutes(slot), "PENDING", userId, petId);
+                        return true;
+                    });
+                    (Boolean.TRUE.equals(stored) ? booked : rejected).incrementAndGet();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(max, booked.get());
+        assertEquals(THREADS - max, rejected.get());
+        Integer ledgerCount = jdbcTemplate.queryForObject(
+                "SELECT booked_count FROM appointment_capacity WHERE capacity_date = ?", Integer.class, DAY);
+        Integer storedRows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM appointment WHERE appointment_date >= ? AND appointment_date < ?",
+                Integer.class, DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay());
+        assertEquals(max, ledgerCount);
+        assertEquals(storedRows, ledgerCount);
+    }
+}
@@ -0,0 +1,60 @@
+package com.examly.springapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.examly.springapp.MigratedSchemaTest;
+import com.examly.springapp.model.Reminder;
+import com.examly.springapp.repository.AppointmentRepo;
+
+/**
+ * Two nodes holding the same reminder send it only once.
+ */
+class AppointmentReminderSchedulerTest extends MigratedSchemaTest {
+
+    @Autowired
+    private AppointmentRepo appointmentRepo;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM appointment_reminder");
+    }
+
+    @Test
+    void reminderHeldByTwoNodesIsSentOnce() throws Exception {
+        // Due two seconds from now with a one minute lead
+        insertAppointment(LocalDateTime.now().plusSeconds(62), "APPROVED", userId, petId);
+        List<Reminder> sent = new CopyOnWriteArrayList<>();
+        AppointmentReminderScheduler first = node(sent);
+        AppointmentReminderScheduler second = node(sent);
+        try {
+            first.start();
+            second.start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+            while (sent.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            // Leaves the other node time to fire as well
+            Thread.sleep(1000);
+        } finally {
+            first.destroy();
+            second.destroy();
+        }
+
+        assertEquals(1, sent.size());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointment_reminder", Integer.class));
+    }
+
+    private AppointmentReminderScheduler node(List<Reminder> sent) {
+        return new AppointmentReminderScheduler(appointmentRepo, jdbcTemplate, List.of(sent::add), true,
+                new int[] { 1 }, 1, 10, 100);
+    }
+}
@@ -0,0 +1,85 @@
+package com.examly.springapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.examly.springapp.model.Appointment;
+import com.examly.springapp.model.AppointmentStatus;
+import com.examly.springapp.model.BulkStatusResult;
+import com.examly.springapp.model.DomainEvent;
+import com.examly.springapp.model.Pet;
+import com.examly.springapp.model.User;
+import com.examly.springapp.repository.AppointmentRepo;
+import com.examly.springapp.repository.PetRepo;
+import com.examly.springapp.repository.UserRepo;
+
+/**
+ * New appointments start as PENDING, and a bulk status change only reports,
+ * counts and publishes the appointments its update actually moved.
+ */
+class AppointmentServiceImplTest {
+
+    private AppointmentRepo appointmentRepo;
+    private UserRepo userRepo;
+    private PetRepo petRepo;
+    private OutboxService outboxService;
+    private DashboardStatsService dashboardStatsService;
+    private AppointmentServiceImpl appointmentService;
+
+    @BeforeEach
+    void setUp() {
+        appointmentRepo = mock(AppointmentRepo.class);
+        userRepo = mock(UserRepo.class);
+        petRepo = mock(PetRepo.class);
+        outboxService = mock(OutboxService.class);
+        dashboardStatsService = mock(DashboardStatsService.class);
+        appointmentService = new AppointmentServiceImpl(appointmentRepo, userRepo, petRepo,
+                mock(AppointmentCapacityService.class), mock(AppointmentAvailabilityService.class),
+                mock(AppointmentCalendarService.class), outboxService, dashboardStatsService);
+    }
+
+    @Test
+    void addAppointmentIgnoresRequestedStatus() throws Exception {
+        User user = new User(7, "owner@example.com", "hash", "owner", "9999999999", "PETOWNER");
+        Pet pet = new Pet(3, "Rex", "Dog", "Beagle", LocalDateTime.of(2020, 1, 1, 0, 0), user, "healthy");
+        when(userRepo.findById(7)).thenReturn(Optional.of(user));
+        when(petRepo.findById(3)).thenReturn(Optional.of(pet));
+        when(appointmentRepo.save(any())).then(invocation -> invocation.getArgument(0));
+
+        Appointment saved = appointmentService.addAppointment(
+                new Appointment(0, LocalDateTime.of(2031, 5, 6, 9, 0), "Checkup", user, pet, "CLOSED"));
+
+        assertEquals("PENDING", saved.getStatus());
+        verify(dashboardStatsService).onAppointmentsAdded("PENDING", 1L);
+    }
+
+    @Test
+    void bulkStatusChangePublishesOnlyMovedAppointments() {
+        // 1 is pending and moves, 2 is already approved, 3 is closed
+        when(appointmentRepo.lockStatusesByIds(anyCollection(), eq(List.of("PENDING"))))
+                .thenReturn(List.<Object[]>of(new Object[] { 1, "PENDING" }));
+        when(appointmentRepo.updateStatuses(List.of(1), "APPROVED", List.of("PENDING"))).thenReturn(1);
+        when(appointmentRepo.findIdsWithStatus(anyCollection(), eq("APPROVED"))).thenReturn(List.of(1, 2));
+
+        BulkStatusResult result = appointmentService.updateAppointmentStatuses(List.of(1, 2, 3),
+                AppointmentStatus.APPROVED);
+
+        assertEquals(1, result.updated());
+        assertEquals(List.of(3), result.skipped());
+        verify(outboxService).publishAll(eq(DomainEvent.APPOINTMENT), eq(List.of(1)),
+                eq(DomainEvent.APPOINTMENT_STATUS_CHANGED), any());
+        verify(dashboardStatsService).onAppointmentStatusChanged("PENDING", "APPROVED", 1L);
+    }
+}
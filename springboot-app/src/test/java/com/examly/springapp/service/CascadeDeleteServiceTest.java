@@ -0,0 +1,65 @@
+package com.examly.springapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.examly.springapp.model.DomainEvent;
+import com.examly.springapp.model.FeedbackRef;
+import com.examly.springapp.repository.AppointmentRepo;
+import com.examly.springapp.repository.FeedbackRepo;
+import com.examly.springapp.repository.PetRepo;
+import com.examly.springapp.repository.UserRepo;
+
+/**
+ * Feedback removed with a pet or a user is published like a single delete.
+ */
+class CascadeDeleteServiceTest {
+
+    private FeedbackRepo feedbackRepo;
+    private OutboxService outboxService;
+    private CascadeDeleteService cascadeDeleteService;
+
+    @BeforeEach
+    void setUp() {
+        feedbackRepo = mock(FeedbackRepo.class);
+        outboxService = mock(OutboxService.class);
+        cascadeDeleteService = new CascadeDeleteService(mock(UserRepo.class), mock(PetRepo.class),
+                mock(AppointmentRepo.class), feedbackRepo, mock(AppointmentCapacityService.class),
+                mock(AppointmentAvailabilityService.class), mock(AppointmentCalendarService.class), outboxService,
+                mock(DashboardStatsService.class), mock(PetAttachmentService.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deleteUserPublishesRemovedFeedback() {
+        when(feedbackRepo.findRefsByUserId(7)).thenReturn(List.of(new FeedbackRef(11, 21, 7, 5),
+                new FeedbackRef(12, 22, 8, 3)));
+
+        cascadeDeleteService.deleteUser(7);
+
+        ArgumentCaptor<Collection<Integer>> ids = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<Function<Integer, Map<String, Object>>> payloads = ArgumentCaptor.forClass(Function.class);
+        verify(outboxService).publishAll(eq(DomainEvent.FEEDBACK), ids.capture(), eq(DomainEvent.FEEDBACK_DELETED),
+                payloads.capture());
+        assertEquals(Set.of(11, 12), Set.copyOf(ids.getValue()));
+        assertEquals(22, payloads.getValue().apply(12).get("appointmentId"));
+        verify(feedbackRepo).deleteAllByUserId(7);
+        verify(outboxService, never()).publishAll(eq(DomainEvent.APPOINTMENT), any(), any(),
+                any());
+    }
+}
@@ -0,0 +1,102 @@
+package com.examly.springapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.examly.springapp.model.DomainEvent;
+import com.examly.springapp.model.OutboxEvent;
+import com.examly.springapp.repository.OutboxEventRepo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * An event is only removed from the outbox once every subscriber took it; a
+ * failing subscriber gets it again on a later run.
+ */
+class OutboxRelayTest {
+
+    private OutboxEventRepo outboxEventRepo;
+    private DomainEventSubscriber subscriber;
+    private SimpleMeterRegistry registry;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepo = mock(OutboxEventRepo.class);
+        subscriber = mock(DomainEventSubscriber.class);
+        registry = new SimpleMeterRegistry();
+        outboxRelay = relay(List.of(subscriber));
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRelay.destroy();
+    }
+
+    @Test
+    void failedEventIsKeptAndRedelivered() {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(1L);
+        event.setAggregateType(DomainEvent.APPOINTMENT);
+        event.setAggregateId(42);
+        event.setEventType(DomainEvent.APPOINTMENT_CREATED);
+        event.setPayload("{\"appointmentId\":42}");
+        event.setCreatedAt(LocalDateTime.now());
+        event.setAvailableAt(LocalDateTime.now());
+        when(outboxEventRepo.lockNextBatch(any(), anyInt(), anyInt())).thenReturn(List.of(event));
+        doThrow(new IllegalStateException("subscriber down")).doNothing().when(subscriber).onEvent(any());
+
+        LocalDateTime beforeFirstRun = LocalDateTime.now();
+        outboxRelay.wakeUp();
+        verify(subscriber, timeout(5000)).onEvent(any());
+        // The second run is queued behind the first on the relay thread
+        outboxRelay.wakeUp();
+        verify(outboxEventRepo, timeout(5000)).deleteByIds(List.of(1L));
+
+        ArgumentCaptor<DomainEvent> delivered = ArgumentCaptor.forClass(DomainEvent.class);
+        verify(subscriber, times(2)).onEvent(delivered.capture());
+        assertEquals(delivered.getAllValues().get(0), delivered.getAllValues().get(1));
+        assertEquals(42, delivered.getValue().aggregateId());
+        assertEquals(42, delivered.getValue().payload().get("appointmentId"));
+        assertEquals(1, event.getAttempts());
+        assertTrue(event.getAvailableAt().isAfter(beforeFirstRun));
+        assertEquals(1.0, registry.counter("outbox.failed").count());
+        assertEquals(1.0, registry.counter("outbox.delivered").count());
+    }
+
+    @Test
+    void relayWithoutSubscribersLeavesEventsInPlace() {
+        OutboxRelay idle = relay(List.of());
+        try {
+            idle.start();
+            idle.wakeUp();
+        } finally {
+            idle.destroy();
+        }
+        verifyNoInteractions(outboxEventRepo);
+    }
+
+    private OutboxRelay relay(List<DomainEventSubscriber> subscribers) {
+        return new OutboxRelay(outboxEventRepo, subscribers, mock(PlatformTransactionManager.class),
+                new ObjectMapper(), registry, true, 100, 60_000, 10);
+    }
+}
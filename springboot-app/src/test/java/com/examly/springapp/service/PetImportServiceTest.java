@@ -0,0 +1,40 @@
+package com.examly.springapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.examly.springapp.model.PetImportJob;
+import com.examly.springapp.repository.UserRepo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.Validator;
+
+/**
+ * A CSV upload with a quote that is never closed fails the import instead of
+ * buffering the rest of the upload.
+ */
+class PetImportServiceTest {
+
+    @Test
+    void unterminatedQuoteFailsTheImport() {
+        PetImportService petImportService = new PetImportService(mock(UserRepo.class), mock(PetSearchIndex.class),
+                mock(DashboardStatsService.class), mock(JdbcTemplate.class), mock(PlatformTransactionManager.class),
+                new ObjectMapper(), mock(Validator.class), 1000, 1000);
+        String csv = "name,species,breed,dateOfBirth,ownerEmail\n\"Rex" + "x".repeat(100_000);
+        String jobId = petImportService.createJob(PetImportService.CSV).jobId();
+
+        PetImportJob job = petImportService.run(jobId,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("FAILED", job.status());
+        assertTrue(job.failure().contains("not closed"), job.failure());
+    }
+}
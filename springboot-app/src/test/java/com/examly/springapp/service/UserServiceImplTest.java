@@ -0,0 +1,75 @@
+package com.examly.springapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.examly.springapp.config.JwtUtils;
+import com.examly.springapp.config.PrincipalResolver;
+import com.examly.springapp.config.UserPrinciple;
+import com.examly.springapp.model.LoginDTO;
+import com.examly.springapp.model.User;
+import com.examly.springapp.repository.UserRepo;
+
+/**
+ * Login must use the principal the authentication provider already loaded
+ * instead of looking the user up again.
+ */
+class UserServiceImplTest {
+
+    private UserRepo userRepo;
+    private AuthenticationManager authManager;
+    private JwtUtils jwtUtils;
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    void setUp() {
+        userRepo = mock(UserRepo.class);
+        authManager = mock(AuthenticationManager.class);
+        jwtUtils = mock(JwtUtils.class);
+        userService = new UserServiceImpl(userRepo, mock(PasswordEncoder.class), authManager, jwtUtils,
+                mock(PrincipalResolver.class), mock(CascadeDeleteService.class), mock(PetLookupService.class),
+                mock(PetSearchIndex.class));
+    }
+
+    @Test
+    void loginUsesAuthenticatedPrincipalWithoutUserLookup() throws Exception {
+        User stored = new User(7, "owner@example.com", "hash", "owner", "9999999999", "PETOWNER");
+        UserPrinciple principal = new UserPrinciple(stored);
+        when(authManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        when(jwtUtils.generateToken(principal)).thenReturn("token");
+
+        User login = new User();
+        login.setEmail("owner@example.com");
+        login.setPassword("secret");
+        LoginDTO result = userService.loginUser(login);
+
+        assertEquals("token", result.getJwtToken());
+        verify(jwtUtils).generateToken(principal);
+        verifyNoInteractions(userRepo);
+    }
+
+    @Test
+    void failedLoginDoesNotTouchUserRepo() {
+        when(authManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        User login = new User();
+        login.setEmail("owner@example.com");
+        login.setPassword("wrong");
+
+        assertThrows(BadCredentialsException.class, () -> userService.loginUser(login));
+        verifyNoInteractions(userRepo);
+    }
+}